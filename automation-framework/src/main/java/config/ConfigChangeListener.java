@@ -0,0 +1,18 @@
+package config;
+
+import java.util.Set;
+
+/**
+ * ConfigChangeListener - Callback for configuration reloads
+ * Registered with ConfigManager.addChangeListener; called after the new snapshot is live.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+    
+    /**
+     * Called when a reload changed configuration values
+     * @param changedKeys Keys whose value changed; env.&lt;environment&gt;.* changes are also
+     *                    reported under the plain key
+     */
+    void onConfigChanged(Set<String> changedKeys);
+}
\ No newline at end of file
@@ -1,64 +1,229 @@
 package config;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import server.AppServer;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * ConfigManager - Centralized configuration management
- * Handles reading and providing configuration properties
+ * Handles reading and providing configuration properties. The loaded properties are an
+ * immutable snapshot that reload() swaps atomically before notifying change listeners.
  */
 public class ConfigManager {
     private static final Logger logger = LogManager.getLogger(ConfigManager.class);
-    private static Properties properties;
+    private static volatile Properties properties;
+    private static final List<ConfigChangeListener> changeListeners = new CopyOnWriteArrayList<>();
     private static final String CONFIG_FILE = "config.properties";
+    private static final String ENVIRONMENT_KEY = "environment";
+    private static final String ENVIRONMENT_PREFIX = "env.";
+    private static String environment;
+    private static Map<String, String> environmentDefaults;
     
     static {
         loadProperties();
+        loadEnvironment();
+        addChangeListener(ConfigManager::applyLogLevels);
     }
     
     /**
      * Load properties from config.properties file
      */
     private static void loadProperties() {
-        properties = new Properties();
-        try (InputStream inputStream = ConfigManager.class.getClassLoader()
-                .getResourceAsStream(CONFIG_FILE)) {
+        properties = readProperties();
+        logger.info("Configuration properties loaded successfully");
+        logger.debug("Loaded {} properties", properties.size());
+        
+        // Debug: Show browser property specifically
+        String browserValue = properties.getProperty("browser");
+        logger.debug("Browser property from file: '{}' (length: {})", 
+                browserValue, browserValue != null ? browserValue.length() : "null");
+    }
+    
+    /**
+     * Read a fresh copy of the configuration file
+     * Reads -Dconfig.file when set, otherwise config.properties from the classpath
+     * @return New Properties instance
+     */
+    private static Properties readProperties() {
+        Properties loaded = new Properties();
+        String externalFile = System.getProperty("config.file");
+        try (InputStream inputStream = externalFile != null ? Files.newInputStream(Paths.get(externalFile))
+                : ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             
-            if (inputStream != null) {
-                properties.load(inputStream);
-                logger.info("Configuration properties loaded successfully");
-                logger.debug("Loaded {} properties", properties.size());
-                
-                // Debug: Show browser property specifically
-                String browserValue = properties.getProperty("browser");
-                logger.debug("Browser property from file: '{}' (length: {})", 
-                        browserValue, browserValue != null ? browserValue.length() : "null");
-            } else {
+            if (inputStream == null) {
                 logger.error("Configuration file not found: " + CONFIG_FILE);
                 throw new RuntimeException("Configuration file not found: " + CONFIG_FILE);
             }
+            loaded.load(inputStream);
+            return loaded;
         } catch (IOException e) {
             logger.error("Error loading configuration properties: " + e.getMessage());
             throw new RuntimeException("Error loading configuration properties", e);
         }
     }
     
+    /**
+     * Get the configuration file on disk, for watching it
+     * @return -Dconfig.file, else config.properties on the classpath; null if not a plain file
+     */
+    public static Path getConfigFile() {
+        String externalFile = System.getProperty("config.file");
+        if (externalFile != null) {
+            return Paths.get(externalFile).toAbsolutePath();
+        }
+        URL resource = ConfigManager.class.getClassLoader().getResource(CONFIG_FILE);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Re-read the configuration file and swap in the new snapshot
+     * Listeners are notified after the swap; a file that cannot be read keeps the old snapshot.
+     * The environment profile stays the one selected at startup.
+     * @return Changed keys, empty if nothing changed or the file could not be read
+     */
+    public static synchronized Set<String> reload() {
+        Properties updated;
+        try {
+            updated = readProperties();
+        } catch (RuntimeException e) {
+            logger.error("Configuration reload failed, keeping current values: {}", e.getMessage());
+            return Set.of();
+        }
+        
+        Properties current = properties;
+        Set<String> allKeys = new TreeSet<>(current.stringPropertyNames());
+        allKeys.addAll(updated.stringPropertyNames());
+        String profilePrefix = ENVIRONMENT_PREFIX + environment + ".";
+        Set<String> changedKeys = new TreeSet<>();
+        for (String key : allKeys) {
+            if (!Objects.equals(current.getProperty(key), updated.getProperty(key))) {
+                changedKeys.add(key);
+                if (key.startsWith(profilePrefix)) {
+                    changedKeys.add(key.substring(profilePrefix.length()));
+                }
+            }
+        }
+        if (changedKeys.isEmpty()) {
+            return changedKeys;
+        }
+        
+        properties = updated;
+        logger.info("Configuration reloaded, changed: {}", changedKeys);
+        for (ConfigChangeListener listener : changeListeners) {
+            try {
+                listener.onConfigChanged(changedKeys);
+            } catch (RuntimeException e) {
+                logger.error("Config change listener failed: {}", e.getMessage());
+            }
+        }
+        return changedKeys;
+    }
+    
+    /**
+     * Register a callback for configuration reloads
+     * @param listener Listener to call with the changed keys
+     */
+    public static void addChangeListener(ConfigChangeListener listener) {
+        changeListeners.add(listener);
+    }
+    
+    public static boolean isConfigWatchEnabled() {
+        return Boolean.parseBoolean(getProperty("config.watch", "false"));
+    }
+    
+    /**
+     * Apply reloaded log levels: log.level for the root logger, log.level.&lt;logger&gt; per logger
+     * @param changedKeys Keys changed by the reload
+     */
+    private static void applyLogLevels(Set<String> changedKeys) {
+        for (String key : changedKeys) {
+            String value = getProperty(key);
+            if (value == null || !(key.equals("log.level") || key.startsWith("log.level."))) {
+                continue;
+            }
+            String loggerName = key.equals("log.level") ? LogManager.ROOT_LOGGER_NAME
+                    : key.substring("log.level.".length());
+            Level level = Level.toLevel(value, Level.INFO);
+            Configurator.setLevel(loggerName, level);
+            logger.info("Log level of {} set to {}", loggerName.isEmpty() ? "root" : loggerName, level);
+        }
+    }
+    
+    /**
+     * Select the environment profile (-Denvironment, else environment in config.properties)
+     * A profile is made of env.&lt;environment&gt;.* keys and testConfiguration.environments
+     * in the test data; unknown environments fail fast.
+     */
+    private static void loadEnvironment() {
+        String systemValue = System.getProperty(ENVIRONMENT_KEY);
+        environment = (systemValue != null ? systemValue : properties.getProperty(ENVIRONMENT_KEY, "local")).trim();
+        environmentDefaults = TestConfiguration.getEnvironment(environment);
+        
+        String profilePrefix = ENVIRONMENT_PREFIX + environment + ".";
+        boolean hasProfileKeys = properties.stringPropertyNames().stream()
+                .anyMatch(key -> key.startsWith(profilePrefix));
+        if (!hasProfileKeys && environmentDefaults.isEmpty()) {
+            logger.error("Unknown environment: {}", environment);
+            throw new IllegalArgumentException("Unknown environment: " + environment
+                    + " (no " + profilePrefix + "* keys or testConfiguration.environments entry)");
+        }
+        logger.info("Using environment profile: {}", environment);
+    }
+    
+    /**
+     * Get selected environment profile
+     * @return Environment name, e.g. local, staging, production
+     */
+    public static String getEnvironment() {
+        return environment;
+    }
+    
     /**
      * Get property value by key
+     * Resolution order: system property, env.&lt;environment&gt;.&lt;key&gt;, the test data
+     * environment entry, then the plain key in config.properties
      * @param key Property key
      * @return Property value
      */
     public static String getProperty(String key) {
+        Properties current = properties;
         String systemValue = System.getProperty(key);
-        String fileValue = properties.getProperty(key);
+        String environmentValue = getEnvironmentValue(current, key);
+        String fileValue = current.getProperty(key);
         
-        logger.debug("Getting property '{}': system='{}', file='{}'", key, systemValue, fileValue);
+        logger.debug("Getting property '{}': system='{}', environment='{}', file='{}'",
+                key, systemValue, environmentValue, fileValue);
         
-        String value = systemValue != null ? systemValue : fileValue;
+        String value = systemValue != null ? systemValue
+                : environmentValue != null ? environmentValue : fileValue;
         
         if (value != null) {
             value = value.trim(); // Trim whitespace
@@ -78,6 +243,49 @@ public class ConfigManager {
         return value != null ? value : defaultValue;
     }
     
+    /**
+     * Get value of a key from the selected environment profile
+     * @param current Properties snapshot to read
+     * @param key Property key
+     * @return env.&lt;environment&gt;.&lt;key&gt; or the test data value, null if the profile does not set it
+     */
+    private static String getEnvironmentValue(Properties current, String key) {
+        if (environment == null) {
+            return null;
+        }
+        String profileValue = current.getProperty(ENVIRONMENT_PREFIX + environment + "." + key);
+        return profileValue != null ? profileValue : environmentDefaults.get(key);
+    }
+    
+    /**
+     * Get all properties starting with a prefix
+     * System properties override the environment profile, which overrides file values
+     * @param prefix Key prefix, e.g. "throttle.slow."
+     * @return Map of key without prefix to trimmed value
+     */
+    public static Map<String, String> getPropertiesWithPrefix(String prefix) {
+        Map<String, String> matches = new TreeMap<>();
+        Properties current = properties;
+        String profilePrefix = ENVIRONMENT_PREFIX + environment + "." + prefix;
+        for (Properties source : new Properties[] {current, System.getProperties()}) {
+            for (String key : source.stringPropertyNames()) {
+                if (key.startsWith(prefix) && key.length() > prefix.length()) {
+                    matches.put(key.substring(prefix.length()), source.getProperty(key).trim());
+                }
+            }
+            
+            // Profile keys apply on top of the file, before system properties
+            if (source == current) {
+                for (String key : source.stringPropertyNames()) {
+                    if (key.startsWith(profilePrefix) && key.length() > profilePrefix.length()) {
+                        matches.put(key.substring(profilePrefix.length()), source.getProperty(key).trim());
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+    
     /**
      * Get integer property value
      * @param key Property key
@@ -113,21 +321,404 @@ public class ConfigManager {
         return browser.trim();
     }
     
+    /**
+     * Get browsers of the cross-browser matrix (-Dbrowser.matrix=true or chrome,firefox)
+     * true/all uses testConfiguration.browsers from the test data.
+     * @return Matrix browsers, empty when matrix mode is off
+     */
+    public static List<String> getMatrixBrowsers() {
+        String matrix = getProperty("browser.matrix", "");
+        if (matrix.isEmpty() || "false".equalsIgnoreCase(matrix)) {
+            return List.of();
+        }
+        if ("true".equalsIgnoreCase(matrix) || "all".equalsIgnoreCase(matrix)) {
+            return TestConfiguration.getBrowsers();
+        }
+        return Arrays.asList(matrix.toLowerCase().split("\\s*,\\s*"));
+    }
+    
+    /**
+     * Get emulation profiles every matrix row is run with (-Demulation.matrix=low-end-android,rural-3g)
+     * @return Profile names, empty when rows are not split by profile
+     */
+    public static List<String> getMatrixEmulationProfiles() {
+        String matrix = getProperty("emulation.matrix", "").trim();
+        return matrix.isEmpty() ? List.of() : Arrays.asList(matrix.split("\\s*,\\s*"));
+    }
+    
     public static String getBaseUrl() {
-        return getProperty("base.url");
+        return getAppUrl("base.url", "index.html");
         // TODO: Add validation for file:// URLs to ensure they exist
     }
     
     public static String getHomeUrl() {
-        return getProperty("home.url");
+        return getAppUrl("home.url", "home.html");
     }
     
     public static String getRegisterUrl() {
-        return getProperty("register.url");
+        return getAppUrl("register.url", "register.html");
     }
     
     public static String getResultUrl() {
-        return getProperty("result.url");
+        return getAppUrl("result.url", "result.html");
+    }
+    
+    /**
+     * Resolve an application page URL
+     * Uses this worker's embedded app server when enabled, otherwise the configured URL.
+     * Pages without their own URL in the environment profile sit next to its base URL.
+     * @param key Property key holding the configured URL
+     * @param page Page file name served by the app server
+     * @return Page URL
+     */
+    private static String getAppUrl(String key, String page) {
+        if (isAppServerEnabled()) {
+            return AppServer.forCurrentThread().getUrl(page);
+        }
+        
+        String url = System.getProperty(key) != null ? System.getProperty(key) : getEnvironmentValue(properties, key);
+        if (url == null && !"base.url".equals(key)) {
+            String baseUrl = System.getProperty("base.url") != null
+                    ? System.getProperty("base.url") : getEnvironmentValue(properties, "base.url");
+            if (baseUrl != null) {
+                return siblingUrl(baseUrl.trim(), page);
+            }
+        }
+        return url != null ? url.trim() : getProperty(key);
+    }
+    
+    /**
+     * Build the URL of a page in the same folder as a base URL
+     * @param baseUrl Base URL, e.g. https://staging.agrichain.com or file:///app/index.html
+     * @param page Page file name
+     * @return Page URL
+     */
+    private static String siblingUrl(String baseUrl, String page) {
+        String folder = baseUrl;
+        int lastSlash = baseUrl.lastIndexOf('/');
+        if (lastSlash > baseUrl.indexOf("//") + 1 && baseUrl.substring(lastSlash).contains(".")) {
+            folder = baseUrl.substring(0, lastSlash);
+        }
+        return folder.endsWith("/") ? folder + page : folder + "/" + page;
+    }
+    
+    public static boolean isAppServerEnabled() {
+        return Boolean.parseBoolean(getProperty("app.server.enabled", "false"));
+    }
+    
+    public static String getAppRoot() {
+        return getProperty("app.root", "..");
+    }
+    
+    public static String getThrottleProfile() {
+        return getProperty("throttle.profile", "none");
+    }
+    
+    public static String getEmulationProfile() {
+        return getProperty("emulation.profile", "none");
+    }
+    
+    public static boolean isTimingExportEnabled() {
+        return Boolean.parseBoolean(getProperty("timing.export", "true"));
+    }
+    
+    public static boolean isCommandTimingEnabled() {
+        return Boolean.parseBoolean(getProperty("timing.commands", "true"));
+    }
+    
+    public static String getTimingOutputPath() {
+        return getProperty("timing.output.path", "test-output/timings/");
+    }
+    
+    /**
+     * Get effective value of every configured property (system properties override file values)
+     * @return Sorted map of property key to value
+     */
+    public static Map<String, String> getConfigSnapshot() {
+        Map<String, String> snapshot = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            snapshot.put(key, getProperty(key));
+        }
+        return snapshot;
+    }
+    
+    public static boolean isResultCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("result.cache.enabled", "true"));
+    }
+    
+    /**
+     * Check if tests must run even when the result cache has a hit (-Dresult.cache.force=true)
+     * @return true to ignore cached results
+     */
+    public static boolean isResultCacheForced() {
+        return Boolean.parseBoolean(getProperty("result.cache.force", "false"));
+    }
+    
+    public static String getResultCachePath() {
+        return getProperty("result.cache.path", "test-output/result-cache/");
+    }
+    
+    /**
+     * Get config key prefixes that do not affect test results and are left out of cache keys
+     * @return Key prefixes
+     */
+    public static List<String> getResultCacheIgnoredKeys() {
+        return Arrays.asList(getProperty("result.cache.ignore", "result.cache.").split("\\s*,\\s*"));
+    }
+    
+    public static int getSoakSessions() {
+        return Integer.parseInt(getProperty("soak.sessions", "2"));
+    }
+    
+    public static long getSoakDurationMinutes() {
+        return Long.parseLong(getProperty("soak.duration.minutes", "60"));
+    }
+    
+    public static long getSoakSampleIntervalSeconds() {
+        return Long.parseLong(getProperty("soak.sample.interval.seconds", "60"));
+    }
+    
+    public static int getSoakLeakWindow() {
+        return Integer.parseInt(getProperty("soak.leak.window", "5"));
+    }
+    
+    public static double getSoakLeakMinGrowthPercent() {
+        return Double.parseDouble(getProperty("soak.leak.min.growth.percent", "10"));
+    }
+    
+    public static boolean isSoakFailOnLeak() {
+        return Boolean.parseBoolean(getProperty("soak.fail.on.leak", "false"));
+    }
+    
+    public static String getSoakOutputPath() {
+        return getProperty("soak.output.path", "test-output/soak/");
+    }
+    
+    public static boolean isDevToolsEnabled() {
+        return Boolean.parseBoolean(getProperty("devtools.enabled", "false"));
+    }
+    
+    public static int getDevToolsSamplingMicros() {
+        return Integer.parseInt(getProperty("devtools.cpu.sampling.micros", "100"));
+    }
+    
+    public static String getDevToolsOutputPath() {
+        return getProperty("devtools.output.path", "test-output/devtools/");
+    }
+    
+    public static boolean isConsoleEventsEnabled() {
+        return Boolean.parseBoolean(getProperty("console.events", "true"));
+    }
+    
+    public static boolean isVisualEnabled() {
+        return Boolean.parseBoolean(getProperty("visual.enabled", "true"));
+    }
+    
+    /**
+     * Check if screenshots replace the stored baselines instead of being compared (-Dvisual.update=true)
+     * @return true to rewrite baselines
+     */
+    public static boolean isVisualUpdate() {
+        return Boolean.parseBoolean(getProperty("visual.update", "false"));
+    }
+    
+    public static String getVisualBaselinePath() {
+        return getProperty("visual.baseline.path", "src/test/resources/visual-baselines/");
+    }
+    
+    public static String getVisualOutputPath() {
+        return getProperty("visual.output.path", "test-output/visual/");
+    }
+    
+    public static double getVisualThreshold() {
+        return Double.parseDouble(getProperty("visual.threshold", "0.1"));
+    }
+    
+    public static double getVisualMaxDiffPercent() {
+        return Double.parseDouble(getProperty("visual.max.diff.percent", "0.1"));
+    }
+    
+    public static int getVisualTileSize() {
+        return Integer.parseInt(getProperty("visual.tile.size", "128"));
+    }
+    
+    /**
+     * Get the number of threads diffing tiles
+     * @return visual.diff.threads, or the number of processors when it is 0
+     */
+    public static int getVisualDiffThreads() {
+        int threads = Integer.parseInt(getProperty("visual.diff.threads", "0"));
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+    
+    /**
+     * Get the CSS selectors of the regions left out of a page's comparison
+     * @param name Screenshot name (index, home, result)
+     * @return visual.ignore and visual.ignore.&lt;name&gt; joined as one selector list, empty if neither is set
+     */
+    public static String getVisualIgnoreSelectors(String name) {
+        return Stream.of(getProperty("visual.ignore", ""), getProperty("visual.ignore." + name, ""))
+                .filter(selector -> !selector.isEmpty())
+                .collect(Collectors.joining(", "));
+    }
+    
+    public static boolean isSessionReuseEnabled() {
+        return Boolean.parseBoolean(getProperty("session.reuse", "false"));
+    }
+    
+    public static String getDriverProvider() {
+        return getProperty("driver.provider", "local");
+    }
+    
+    public static String getDriverPoolDelegate() {
+        return getProperty("driver.pool.delegate", "local");
+    }
+    
+    public static int getDriverPoolMaxIdle() {
+        return Integer.parseInt(getProperty("driver.pool.max.idle", "2"));
+    }
+    
+    public static int getDriverPoolMaxUses() {
+        return Integer.parseInt(getProperty("driver.pool.max.uses", "20"));
+    }
+    
+    public static String getGridUrl() {
+        return getProperty("grid.url", "http://localhost:4444");
+    }
+    
+    public static int getGridStandalonePort() {
+        return Integer.parseInt(getProperty("grid.standalone.port", "0"));
+    }
+    
+    public static boolean isGridFallbackLocal() {
+        return Boolean.parseBoolean(getProperty("grid.fallback.local", "true"));
+    }
+    
+    public static boolean isDriverSupervisionEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.supervision.enabled", "true"));
+    }
+    
+    public static long getDriverHeartbeatSeconds() {
+        return Long.parseLong(getProperty("driver.heartbeat.seconds", "15"));
+    }
+    
+    public static boolean isSessionBudgetEnabled() {
+        return Boolean.parseBoolean(getProperty("session.budget.enabled", "true"));
+    }
+    
+    public static long getSessionMaxAgeMinutes() {
+        return Long.parseLong(getProperty("session.budget.max.age.minutes", "30"));
+    }
+    
+    public static long getSessionMaxCommands() {
+        return Long.parseLong(getProperty("session.budget.max.commands", "5000"));
+    }
+    
+    public static long getSessionMaxHeapMb() {
+        return Long.parseLong(getProperty("session.budget.max.heap.mb", "256"));
+    }
+    
+    public static boolean isMetricsExportEnabled() {
+        return Boolean.parseBoolean(getProperty("metrics.export", "true"));
+    }
+    
+    public static String getMetricsOutputPath() {
+        return getProperty("metrics.output.path", "test-output/metrics/");
+    }
+    
+    public static boolean isEventLogEnabled() {
+        return Boolean.parseBoolean(getProperty("events.enabled", "true"));
+    }
+    
+    public static boolean isEventLogCommandsEnabled() {
+        return Boolean.parseBoolean(getProperty("events.commands", "true"));
+    }
+    
+    public static String getEventLogOutputPath() {
+        return getProperty("events.output.path", "test-output/events/");
+    }
+    
+    public static long getEventLogMaxFileMb() {
+        return Long.parseLong(getProperty("events.max.file.mb", "64"));
+    }
+    
+    public static int getEventLogMaxFiles() {
+        return Integer.parseInt(getProperty("events.max.files", "5"));
+    }
+    
+    public static int getEventLogQueueSize() {
+        return Integer.parseInt(getProperty("events.queue.size", "8192"));
+    }
+    
+    public static int getLoadUsers() {
+        return Integer.parseInt(getProperty("load.users", "5"));
+    }
+    
+    public static String getLoadProfile() {
+        return getProperty("load.profile", "30:1,60:1,10:0");
+    }
+    
+    public static double getLoadMaxErrorRate() {
+        return Double.parseDouble(getProperty("load.max.error.rate", "0.05"));
+    }
+    
+    public static String getLoadOutputPath() {
+        return getProperty("load.output.path", "test-output/load/");
+    }
+    
+    public static int getHistoryFixtureUsers() {
+        return Integer.parseInt(getProperty("history.fixture.users", "1000"));
+    }
+    
+    /**
+     * Get the history sizes (stored calculations) the history benchmark runs
+     * @return Sizes in configured order
+     */
+    public static List<Integer> getHistoryFixtureSizes() {
+        return Arrays.stream(getProperty("history.fixture.sizes", "0,5000,10000,20000,40000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+    }
+    
+    public static int getHistoryBenchmarkRepetitions() {
+        return Integer.parseInt(getProperty("history.benchmark.repetitions", "5"));
+    }
+    
+    public static String getHistoryOutputPath() {
+        return getProperty("history.output.path", "test-output/history/");
+    }
+    
+    /**
+     * Get how tests are ordered
+     * @return priority (TestNG @Test priority, the default) or history (recently failed first, then longest first)
+     */
+    public static String getTestOrder() {
+        return getProperty("test.order", "priority");
+    }
+    
+    public static int getHistoryRecentRuns() {
+        return Integer.parseInt(getProperty("run.history.recent.runs", "3"));
+    }
+    
+    public static String getRunHistoryPath() {
+        return getProperty("run.history.path", "test-output/run-history/run-history.tsv");
+    }
+    
+    public static boolean isImpactTrackingEnabled() {
+        return Boolean.parseBoolean(getProperty("impact.tracking", "true"));
+    }
+    
+    public static String getImpactIndexPath() {
+        return getProperty("impact.index.path", "test-output/impact/impact-index.json");
+    }
+    
+    /**
+     * Get git ref to select affected tests against (-Dimpact.base=origin/main)
+     * @return Git ref, or empty to run all tests
+     */
+    public static String getImpactBaseRef() {
+        return getProperty("impact.base", "").trim();
     }
     
     public static int getImplicitWait() {
@@ -142,6 +733,10 @@ public class ConfigManager {
         return getIntProperty("page.load.timeout");
     }
     
+    public static String getPageLoadStrategy() {
+        return getProperty("page.load.strategy", "normal");
+    }
+    
     public static boolean isHeadless() {
         return getBooleanProperty("headless");
     }
@@ -181,4 +776,37 @@ public class ConfigManager {
     public static int getWindowHeight() {
         return getIntProperty("window.height");
     }
+    
+    /**
+     * Get how often a transiently failing test is retried
+     * @return max.retry.count if set, else testConfiguration.maxRetries from testdata.json, else 0
+     */
+    public static int getMaxRetryCount() {
+        String configured = getProperty("max.retry.count");
+        if (configured != null && !configured.isEmpty()) {
+            return Integer.parseInt(configured);
+        }
+        return Math.max(0, TestConfiguration.getMaxRetries());
+    }
+    
+    public static List<String> getTransientExceptions() {
+        return Arrays.asList(getProperty("retry.transient.exceptions", "").split("\\s*,\\s*"));
+    }
+    
+    public static String getExecutionMode() {
+        return getProperty("execution.mode", "platform");
+    }
+    
+    public static int getBrowserPoolSize() {
+        return Integer.parseInt(getProperty("browser.pool.size", "4"));
+    }
+    
+    /**
+     * Get pool size of one browser type (browser.pool.size.&lt;browser&gt;, else browser.pool.size)
+     * @param browser Browser name
+     * @return Max concurrent sessions of that browser
+     */
+    public static int getBrowserPoolSize(String browser) {
+        return Integer.parseInt(getProperty("browser.pool.size." + browser, String.valueOf(getBrowserPoolSize())));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,94 @@
+package config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * ConfigWatcher - Reloads the configuration when its file changes on disk
+ * Watches the folder of the config file with an NIO WatchService and calls
+ * ConfigManager.reload(), so long soak runs can change waits, log levels and
+ * pool sizes without a restart. Enabled with config.watch=true.
+ */
+public class ConfigWatcher {
+    private static final Logger logger = LogManager.getLogger(ConfigWatcher.class);
+    // Editors often write a file in several steps; wait for them to finish before reloading
+    private static final long SETTLE_MILLIS = 200;
+    private static WatchService watchService;
+    private static Thread watcherThread;
+    
+    /**
+     * Start watching the configuration file (no-op if already watching)
+     */
+    public static synchronized void start() {
+        if (watcherThread != null) {
+            return;
+        }
+        
+        Path configFile = ConfigManager.getConfigFile();
+        if (configFile == null) {
+            logger.warn("Configuration is not a plain file, hot reload disabled (set -Dconfig.file)");
+            return;
+        }
+        
+        try {
+            watchService = configFile.getFileSystem().newWatchService();
+            configFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            logger.error("Could not watch {}: {}", configFile, e.getMessage());
+            return;
+        }
+        
+        watcherThread = ExecutionManager.newThreadFactory("config-watcher").newThread(() -> watch(configFile));
+        watcherThread.start();
+        logger.info("Watching {} for configuration changes", configFile);
+    }
+    
+    /**
+     * Stop watching the configuration file
+     */
+    public static synchronized void stop() {
+        if (watcherThread == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Error closing config watch service: {}", e.getMessage());
+        }
+        watcherThread.interrupt();
+        watcherThread = null;
+    }
+    
+    private static void watch(Path configFile) {
+        Path fileName = configFile.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = key.pollEvents().stream().anyMatch(event -> fileName.equals(event.context()));
+                key.reset();
+                if (!changed) {
+                    continue;
+                }
+                
+                // Collapse the burst of events from one save into a single reload
+                Thread.sleep(SETTLE_MILLIS);
+                WatchKey pending;
+                while ((pending = watchService.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+                ConfigManager.reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Config watcher stopped");
+        }
+    }
+}
\ No newline at end of file
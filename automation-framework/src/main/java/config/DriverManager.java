@@ -4,15 +4,48 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
 import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import utils.CommandTimingListener;
+import utils.Counter;
+import utils.ConsoleEvents;
+import utils.DevToolsRecorder;
+import utils.Gauge;
+import utils.Histogram;
+import utils.ImpactTrackingListener;
+import utils.Metrics;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.concurrent.Semaphore;
 
 /**
  * DriverManager - Manages WebDriver lifecycle and configuration
@@ -21,52 +54,180 @@ import java.time.Duration;
 public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<String> browserThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<EmulationProfile> emulationThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<SessionBudget> budgetThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<SupervisedDriver> supervisedThreadLocal = new ThreadLocal<>();
+    
+    // Sessions started in the background for retired ones, per browser type, until a thread takes them over
+    private static final Map<String, Queue<CompletableFuture<WebDriver>>> replacements = new ConcurrentHashMap<>();
+    private static volatile ExecutorService recycler = ExecutionManager.newTaskExecutor("session-recycler");
+    private static final long RECYCLER_DRAIN_SECONDS = 60;
+    
+    // One pool per browser type bounds live sessions by pool size rather than by thread count
+    private static final Map<String, BrowserPool> browserPools = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Semaphore> slotHeld = new ThreadLocal<>();
+    
+    private static final Pattern VERSION_PATTERN = Pattern.compile("\\d+(\\.\\d+)+");
+    private static final Map<String, String> browserVersions = new ConcurrentHashMap<>();
+    
+    // Every open session with the pool slot it holds, so sessions kept for reuse can be closed at suite end
+    private static final Map<WebDriver, LiveSession> liveSessions = new ConcurrentHashMap<>();
+    
+    // Creates and ends browser sessions (driver.provider: local, pooled, remote or a DriverProvider service)
+    private static volatile DriverProvider driverProvider;
+    
+    // Named localStorage snapshots, shared by all threads (values are origin independent)
+    private static final Map<String, Map<String, String>> storageSnapshots = new ConcurrentHashMap<>();
+    private static final String SNAPSHOT_SCRIPT = "var s = {}; for (var i = 0; i < localStorage.length; i++) {"
+            + " var k = localStorage.key(i); s[k] = localStorage.getItem(k); } return s;";
+    private static final String RESTORE_SCRIPT = "localStorage.clear(); sessionStorage.clear(); var s = arguments[0];"
+            + " for (var k in s) { localStorage.setItem(k, s[k]); }";
+    
+    // Session lifecycle metrics
+    private static final Histogram SLOT_WAITS = Metrics.histogram("browser_slot_wait_duration_seconds");
+    private static final Histogram DRIVER_STARTS = Metrics.histogram("driver_start_duration_seconds");
+    private static final Histogram DRIVER_QUITS = Metrics.histogram("driver_quit_duration_seconds");
+    private static final Counter SESSIONS_STARTED = Metrics.counter("driver_sessions_started_total");
+    private static final Counter SESSION_FAILURES = Metrics.counter("driver_session_failures_total");
+    private static final Counter SESSIONS_LOST = Metrics.counter("driver_sessions_lost_total");
+    private static final Gauge ACTIVE_SESSIONS = Metrics.gauge("driver_sessions_active");
+    
+    static {
+        // Resize pools live when browser.pool.size* changes in a configuration reload
+        ConfigManager.addChangeListener(changedKeys -> {
+            if (changedKeys.stream().anyMatch(key -> key.startsWith("browser.pool.size"))) {
+                browserPools.values().forEach(pool -> pool.resize(ConfigManager.getBrowserPoolSize(pool.browserName)));
+            }
+        });
+    }
     
     /**
      * Initialize WebDriver based on browser configuration
      * @return WebDriver instance
      */
     public static WebDriver initializeDriver() {
-        String browserName = ConfigManager.getBrowser().toLowerCase();
+        return initializeDriver(getCurrentBrowser());
+    }
+    
+    /**
+     * Initialize WebDriver for a specific browser (used by cross-browser matrix runs)
+     * @param browser Browser name: chrome, firefox or edge
+     * @return WebDriver instance
+     */
+    public static WebDriver initializeDriver(String browser) {
+        String browserName = browser.toLowerCase();
         WebDriver driver = null;
         
         logger.info("Initializing {} driver", browserName);
+        browserThreadLocal.set(browserName);
         
+        // Take over a session started in the background for a retired one, else start a browser
+        driver = adoptReplacement(browserName);
+        if (driver == null) {
+            acquireBrowserSlot(browserName);
+        }
+        
+        long startNanos = System.nanoTime();
         try {
-            switch (browserName) {
-                case "chrome":
-                    driver = initializeChromeDriver();
-                    break;
-                case "firefox":
-                    driver = initializeFirefoxDriver();
-                    break;
-                case "edge":
-                    driver = initializeEdgeDriver();
-                    break;
-                default:
-                    logger.error("Unsupported browser: {}", browserName);
-                    throw new IllegalArgumentException("Unsupported browser: " + browserName);
+            if (driver == null) {
+                driver = startBrowser(browserName);
+            }
+            WebDriver undecorated = driver;
+            
+            // Opt-in browser-side profiling needs the undecorated Chromium driver
+            DevToolsRecorder.attach(driver);
+            ConsoleEvents.attach(driver);
+            
+            // Time every driver command as a span under the current test step and
+            // record which page methods reach the driver for impact-based selection
+            List<WebDriverListener> listeners = new ArrayList<>();
+            if (ConfigManager.isCommandTimingEnabled()) {
+                listeners.add(new CommandTimingListener());
+            }
+            if (ConfigManager.isImpactTrackingEnabled()) {
+                listeners.add(new ImpactTrackingListener());
+            }
+            if (ConfigManager.isSessionBudgetEnabled()) {
+                SessionBudget budget = new SessionBudget();
+                budgetThreadLocal.set(budget);
+                listeners.add(budget);
+            }
+            if (!listeners.isEmpty()) {
+                driver = new EventFiringDecorator<WebDriver>(listeners.toArray(new WebDriverListener[0]))
+                        .decorate(driver);
             }
             
-            configureDriver(driver);
             driverThreadLocal.set(driver);
+            liveSessions.put(driver, new LiveSession(undecorated, slotHeld.get()));
+            if (ConfigManager.isDriverSupervisionEnabled()) {
+                superviseDriver(driver);
+            }
+            DRIVER_STARTS.recordNanos(System.nanoTime() - startNanos);
+            SESSIONS_STARTED.increment();
+            ACTIVE_SESSIONS.increment();
             logger.info("{} driver initialized successfully", browserName);
             
         } catch (Exception e) {
+            SESSION_FAILURES.increment();
             logger.error("Failed to initialize {} driver: {}", browserName, e.getMessage());
+            budgetThreadLocal.remove();
+            releaseBrowserSlot();
             throw new RuntimeException("Driver initialization failed", e);
         }
         
+        return getDriver();
+    }
+    
+    /**
+     * Start a configured browser session that is not yet bound to a thread
+     * @param browserName chrome, firefox or edge
+     * @return Undecorated driver
+     */
+    private static WebDriver startBrowser(String browserName) {
+        WebDriver driver = getDriverProvider().start(browserName);
+        configureDriver(driver);
         return driver;
     }
     
     /**
-     * Initialize Chrome driver with options
-     * @return ChromeDriver instance
+     * Get the provider that creates and ends browser sessions, chosen by driver.provider
+     * @return DriverProvider
      */
-    private static WebDriver initializeChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+    public static DriverProvider getDriverProvider() {
+        if (driverProvider == null) {
+            synchronized (DriverManager.class) {
+                if (driverProvider == null) {
+                    driverProvider = DriverProvider.forName(ConfigManager.getDriverProvider());
+                    logger.info("Driver provider: {}", driverProvider.getName());
+                }
+            }
+        }
+        return driverProvider;
+    }
+    
+    /**
+     * Build the browser options every provider starts sessions with
+     * @param browserName chrome, firefox or edge
+     * @return ChromeOptions, FirefoxOptions or EdgeOptions
+     */
+    public static MutableCapabilities getBrowserOptions(String browserName) {
+        switch (browserName) {
+            case "chrome":
+                return chromeOptions();
+            case "firefox":
+                return firefoxOptions();
+            case "edge":
+                return edgeOptions();
+            default:
+                logger.error("Unsupported browser: {}", browserName);
+                throw new IllegalArgumentException("Unsupported browser: " + browserName);
+        }
+    }
+    
+    private static ChromeOptions chromeOptions() {
         ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(getPageLoadStrategy());
         
         // Add Chrome-specific options
         options.addArguments("--disable-web-security");
@@ -79,40 +240,46 @@ public class DriverManager {
             options.addArguments("--headless");
             logger.info("Running Chrome in headless mode");
         }
-        
-        return new ChromeDriver(options);
+        return options;
     }
     
-    /**
-     * Initialize Firefox driver with options
-     * @return FirefoxDriver instance
-     */
-    private static WebDriver initializeFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+    private static FirefoxOptions firefoxOptions() {
         FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(getPageLoadStrategy());
         
         if (ConfigManager.isHeadless()) {
             options.addArguments("--headless");
             logger.info("Running Firefox in headless mode");
         }
         
-        return new FirefoxDriver(options);
+        // Console events are streamed over WebDriver BiDi in Firefox
+        if (ConfigManager.isConsoleEventsEnabled()) {
+            options.setCapability("webSocketUrl", true);
+        }
+        return options;
     }
     
-    /**
-     * Initialize Edge driver with options
-     * @return EdgeDriver instance
-     */
-    private static WebDriver initializeEdgeDriver() {
-        WebDriverManager.edgedriver().setup();
+    private static EdgeOptions edgeOptions() {
         EdgeOptions options = new EdgeOptions();
+        options.setPageLoadStrategy(getPageLoadStrategy());
         
         if (ConfigManager.isHeadless()) {
             options.addArguments("--headless");
             logger.info("Running Edge in headless mode");
         }
-        
-        return new EdgeDriver(options);
+        return options;
+    }
+    
+    /**
+     * Get page load strategy of the environment profile
+     * @return PageLoadStrategy from page.load.strategy
+     */
+    private static PageLoadStrategy getPageLoadStrategy() {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(ConfigManager.getPageLoadStrategy());
+        if (strategy == null) {
+            throw new IllegalArgumentException("Invalid page.load.strategy: " + ConfigManager.getPageLoadStrategy());
+        }
+        return strategy;
     }
     
     /**
@@ -126,7 +293,14 @@ public class DriverManager {
         driver.manage().timeouts()
                 .pageLoadTimeout(Duration.ofSeconds(ConfigManager.getPageLoadTimeout()));
         
-        // Set window size
+        configureWindow(driver);
+    }
+    
+    /**
+     * Maximize the window or set the configured window size
+     * @param driver WebDriver instance to configure
+     */
+    private static void configureWindow(WebDriver driver) {
         if (ConfigManager.shouldMaximize()) {
             driver.manage().window().maximize();
             logger.info("Browser window maximized");
@@ -152,7 +326,56 @@ public class DriverManager {
             logger.warn("Driver not initialized for current thread, initializing new driver");
             driver = initializeDriver();
         }
-        return driver;
+        
+        // Hand out the thread's proxy so holders follow crash replacements
+        SupervisedDriver supervised = supervisedThreadLocal.get();
+        return supervised != null && supervised.getSession() == driver ? supervised.getProxy() : driver;
+    }
+    
+    /**
+     * Bind a new session to this thread's driver proxy, creating the proxy on first use
+     * A new proxy is only needed when the browser type (and so the driver interfaces) changes.
+     */
+    private static void superviseDriver(WebDriver driver) {
+        SupervisedDriver supervised = supervisedThreadLocal.get();
+        if (supervised == null || !supervised.fits(driver)) {
+            supervised = new SupervisedDriver(driver, ConsoleEvents.current());
+            supervisedThreadLocal.set(supervised);
+        } else {
+            supervised.bind(driver, ConsoleEvents.current());
+        }
+        SessionSupervisor.watch(supervised);
+    }
+    
+    /**
+     * Replace this thread's crashed session with a new one of the same browser and emulation profile
+     * The dead session is quit in the background. The new one gets the app's last known localStorage
+     * back before it reopens the last page, so auth.js keeps the user logged in on home or result.
+     * @param lastUrl Last URL the thread navigated to or read, or null
+     * @param lastStorage localStorage read on the last page change, or null
+     */
+    static void replaceLostSession(String lastUrl, Map<String, String> lastStorage) {
+        WebDriver lostDriver = driverThreadLocal.get();
+        if (lostDriver == null) {
+            return;
+        }
+        
+        String browserName = getCurrentBrowser();
+        String emulation = getEmulationProfile();
+        logger.error("{} session was lost, starting a replacement", browserName);
+        SESSIONS_LOST.increment();
+        Semaphore slot = unbindDriver();
+        recycler.execute(() -> closeSession(lostDriver, slot));
+        
+        initializeDriver(browserName);
+        applyEmulationProfile(emulation);
+        if (lastStorage != null && !lastStorage.isEmpty()) {
+            restoreStorage(lastStorage);
+            logger.info("Restored {} localStorage keys into the replacement session", lastStorage.size());
+        }
+        if (lastUrl != null && (lastUrl.startsWith("http") || lastUrl.startsWith("file"))) {
+            driverThreadLocal.get().get(lastUrl);
+        }
     }
     
     /**
@@ -161,14 +384,429 @@ public class DriverManager {
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
+            Semaphore slot = unbindDriver();
+            closeSession(driver, slot);
+        }
+    }
+    
+    /**
+     * Retire this thread's session if it is over its age, command or memory budget
+     * The replacement starts in the background right away and the old session is quit in the
+     * background, so the next initializeDriver() takes over a warm session instead of waiting.
+     * @return true if the session was retired and the thread has no driver now
+     */
+    public static boolean retireIfOverBudget() {
+        WebDriver driver = driverThreadLocal.get();
+        SessionBudget budget = budgetThreadLocal.get();
+        if (driver == null || budget == null) {
+            return false;
+        }
+        
+        String limit = budget.findExceededLimit(driver);
+        if (limit == null) {
+            return false;
+        }
+        
+        String browserName = getCurrentBrowser();
+        logger.info("Retiring {} session over its {} budget (age {}s, {} commands)", browserName, limit,
+                budget.getAgeMillis() / 1000, budget.getCommands());
+        Metrics.counter("driver_sessions_retired_total", "reason", limit).increment();
+        
+        replacements.computeIfAbsent(browserName, name -> new ConcurrentLinkedQueue<>())
+                .add(CompletableFuture.supplyAsync(() -> startReplacement(browserName), recycler));
+        Semaphore slot = unbindDriver();
+        recycler.execute(() -> closeSession(driver, slot));
+        return true;
+    }
+    
+    /**
+     * Detach this thread's session from the thread
+     * @return Pool slot the session holds
+     */
+    private static Semaphore unbindDriver() {
+        ConsoleEvents.detach();
+        DevToolsRecorder.detach();
+        Semaphore slot = slotHeld.get();
+        slotHeld.remove();
+        driverThreadLocal.remove();
+        browserThreadLocal.remove();
+        emulationThreadLocal.remove();
+        budgetThreadLocal.remove();
+        SupervisedDriver supervised = supervisedThreadLocal.get();
+        if (supervised != null) {
+            supervised.bind(null, null);
+            SessionSupervisor.unwatch(supervised);
+        }
+        return slot;
+    }
+    
+    /**
+     * End a session through its provider and return its slot to the pool
+     * @param driver Session to end
+     * @param slot Pool slot of the session, or null
+     */
+    private static void closeSession(WebDriver driver, Semaphore slot) {
+        // quitAllDrivers() may have ended the session and returned its slot already
+        LiveSession live = liveSessions.remove(driver);
+        if (live == null) {
+            return;
+        }
+        
+        long startNanos = System.nanoTime();
+        try {
+            getDriverProvider().release(live.undecorated);
+            logger.info("Driver quit successfully");
+        } catch (Exception e) {
+            logger.error("Error while quitting driver: {}", e.getMessage());
+        } finally {
+            DRIVER_QUITS.recordNanos(System.nanoTime() - startNanos);
+            ACTIVE_SESSIONS.decrement();
+            if (slot != null) {
+                slot.release();
+            }
+        }
+    }
+    
+    /**
+     * Start a replacement session on a background thread, holding its own pool slot
+     */
+    private static WebDriver startReplacement(String browserName) {
+        Semaphore pool = getBrowserPool(browserName);
+        try {
+            pool.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser slot", e);
+        }
+        
+        try {
+            WebDriver driver = startBrowser(browserName);
+            logger.info("Replacement {} session ready", browserName);
+            return driver;
+        } catch (RuntimeException e) {
+            pool.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Take over a replacement session started for a retired one, waiting for it if still starting
+     * @param browserName Browser type
+     * @return Undecorated driver holding a slot of the browser's pool, or null if none
+     */
+    private static WebDriver adoptReplacement(String browserName) {
+        Queue<CompletableFuture<WebDriver>> queue = replacements.get(browserName);
+        if (queue == null || slotHeld.get() != null) {
+            return null;
+        }
+        
+        CompletableFuture<WebDriver> replacement;
+        while ((replacement = queue.poll()) != null) {
+            try {
+                WebDriver driver = replacement.join();
+                slotHeld.set(getBrowserPool(browserName));
+                logger.info("Taking over replacement {} session", browserName);
+                return driver;
+            } catch (CompletionException e) {
+                SESSION_FAILURES.increment();
+                logger.warn("Replacement {} session failed to start: {}", browserName, e.getCause().getMessage());
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Quit every open session, including sessions other threads kept for reuse (called once at suite end)
+     * Background closes and replacement starts are waited for first, so no session is quit twice.
+     */
+    public static void quitAllDrivers() {
+        quitDriver();
+        
+        // Let background closes and replacement starts finish before the provider shuts down
+        ExecutorService draining = recycler;
+        recycler = ExecutionManager.newTaskExecutor("session-recycler");
+        draining.shutdown();
+        try {
+            if (!draining.awaitTermination(RECYCLER_DRAIN_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Background session closes still running after {}s", RECYCLER_DRAIN_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // Replacements no thread has taken over yet
+        replacements.forEach((browserName, queue) -> {
+            CompletableFuture<WebDriver> replacement;
+            while ((replacement = queue.poll()) != null) {
+                try {
+                    getDriverProvider().release(replacement.join());
+                    getBrowserPool(browserName).release();
+                } catch (CompletionException e) {
+                    logger.debug("Replacement session never started: {}", e.getCause().getMessage());
+                } catch (Exception e) {
+                    logger.error("Error while quitting driver: {}", e.getMessage());
+                    getBrowserPool(browserName).release();
+                }
+            }
+        });
+        
+        liveSessions.forEach((driver, live) -> {
+            // Only the caller that removes the entry quits the session and returns its slot
+            if (liveSessions.remove(driver) == null) {
+                return;
+            }
             try {
-                driver.quit();
-                logger.info("Driver quit successfully");
+                getDriverProvider().release(live.undecorated);
             } catch (Exception e) {
                 logger.error("Error while quitting driver: {}", e.getMessage());
             } finally {
-                driverThreadLocal.remove();
+                ACTIVE_SESSIONS.decrement();
+                live.pool.release();
+            }
+        });
+        getDriverProvider().shutdown();
+    }
+    
+    /**
+     * Clear localStorage and sessionStorage of the app in this thread's session with one script call
+     * Lets a warm session start a test logged out and without any calculation history.
+     */
+    public static void clearStorage() {
+        restoreStorage(Map.of());
+    }
+    
+    /**
+     * Save this session's localStorage under a name
+     * @param name Snapshot name
+     * @return Saved entries
+     */
+    public static Map<String, String> saveStorageSnapshot(String name) {
+        Map<String, String> snapshot = readStorage(onAppOrigin());
+        storageSnapshots.put(name, snapshot);
+        logger.debug("Saved localStorage snapshot '{}' ({} keys)", name, snapshot.size());
+        return snapshot;
+    }
+    
+    /**
+     * Register localStorage entries under a name without a browser, e.g. generated fixtures
+     * @param name Snapshot name
+     * @param entries localStorage keys and values
+     */
+    public static void registerStorageSnapshot(String name, Map<String, String> entries) {
+        storageSnapshots.put(name, Map.copyOf(entries));
+    }
+    
+    /**
+     * Replace this session's localStorage with a named snapshot in one script call
+     * Takes effect for the app on the next page load.
+     * @param name Snapshot name
+     */
+    public static void restoreStorageSnapshot(String name) {
+        Map<String, String> snapshot = storageSnapshots.get(name);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Unknown localStorage snapshot: " + name);
+        }
+        restoreStorage(snapshot);
+        logger.debug("Restored localStorage snapshot '{}' ({} keys)", name, snapshot.size());
+    }
+    
+    /**
+     * Read the localStorage of the page a session is on in one script call
+     * @param driver Session on an app page
+     * @return localStorage keys and values
+     */
+    static Map<String, String> readStorage(WebDriver driver) {
+        Map<String, String> snapshot = new HashMap<>();
+        Object entries = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        if (entries instanceof Map) {
+            ((Map<?, ?>) entries).forEach((key, value) -> snapshot.put(String.valueOf(key), String.valueOf(value)));
+        }
+        return snapshot;
+    }
+    
+    private static void restoreStorage(Map<String, String> entries) {
+        ((JavascriptExecutor) onAppOrigin()).executeScript(RESTORE_SCRIPT, entries);
+    }
+    
+    /**
+     * Get this thread's driver, first opening the app if the session is not on its origin yet
+     * localStorage belongs to an origin, and a fresh session is still on about:blank.
+     */
+    private static WebDriver onAppOrigin() {
+        WebDriver driver = getDriver();
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !(currentUrl.startsWith("http") || currentUrl.startsWith("file"))) {
+            driver.get(ConfigManager.getBaseUrl());
+        }
+        return driver;
+    }
+    
+    /**
+     * Emulate a device in this thread's session: CPU slowdown, network condition and viewport
+     * Chrome and Edge get all three over the DevTools protocol; other browsers only get the
+     * viewport as window size. Applying "none" undoes a profile on a reused session.
+     * @param name Emulation profile name from config.properties, or "none"
+     */
+    public static void applyEmulationProfile(String name) {
+        EmulationProfile profile = EmulationProfile.named(name);
+        EmulationProfile previous = emulationThreadLocal.get();
+        if (profile == (previous != null ? previous : EmulationProfile.NONE)) {
+            return;
+        }
+        
+        WebDriver driver = getDriver();
+        if (driver instanceof HasDevTools) {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<>("Emulation.setCPUThrottlingRate", Map.of("rate", profile.getCpuSlowdown())));
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Network.emulateNetworkConditions", Map.of(
+                    "offline", false,
+                    "latency", profile.getLatencyMs(),
+                    "downloadThroughput", profile.getDownloadBytesPerSecond(),
+                    "uploadThroughput", profile.getUploadBytesPerSecond())));
+            if (profile.hasViewport()) {
+                devTools.send(new Command<>("Emulation.setDeviceMetricsOverride", Map.of(
+                        "width", profile.getWidth(),
+                        "height", profile.getHeight(),
+                        "deviceScaleFactor", 0,
+                        "mobile", false)));
+            } else {
+                devTools.send(new Command<>("Emulation.clearDeviceMetricsOverride", Map.of()));
+            }
+        } else {
+            if (profile.getCpuSlowdown() != 1 || profile.isNetworkThrottled()) {
+                logger.warn("{} cannot emulate CPU or network, applying only the viewport of {}",
+                        getCurrentBrowser(), profile.getName());
+            }
+            if (profile.hasViewport()) {
+                driver.manage().window().setSize(new Dimension(profile.getWidth(), profile.getHeight()));
+            } else {
+                configureWindow(driver);
+            }
+        }
+        
+        emulationThreadLocal.set(profile);
+        logger.info("Emulation profile applied: {}", profile);
+    }
+    
+    /**
+     * Get the emulation profile of this thread's session
+     * @return Profile name, "none" if the session is not emulating a device
+     */
+    public static String getEmulationProfile() {
+        EmulationProfile profile = emulationThreadLocal.get();
+        return profile != null ? profile.getName() : EmulationProfile.NONE_NAME;
+    }
+    
+    /**
+     * Get browser used by the current thread
+     * @return Browser of this thread's driver, else the configured browser
+     */
+    public static String getCurrentBrowser() {
+        String browser = browserThreadLocal.get();
+        return browser != null ? browser : ConfigManager.getBrowser().toLowerCase();
+    }
+    
+    /**
+     * Block until a slot is free in the pool of a browser type
+     * Threads (virtual or platform) wait here instead of each holding a browser
+     * @param browserName Browser type
+     */
+    private static void acquireBrowserSlot(String browserName) {
+        if (slotHeld.get() != null) {
+            return;
+        }
+        Semaphore pool = getBrowserPool(browserName);
+        long startNanos = System.nanoTime();
+        try {
+            if (!pool.tryAcquire()) {
+                logger.debug("{} pool exhausted, waiting for a free slot", browserName);
+                pool.acquire();
+            }
+            SLOT_WAITS.recordNanos(System.nanoTime() - startNanos);
+            slotHeld.set(pool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser slot", e);
+        }
+    }
+    
+    /**
+     * Return this thread's browser slot to the pool
+     */
+    private static void releaseBrowserSlot() {
+        Semaphore pool = slotHeld.get();
+        if (pool != null) {
+            slotHeld.remove();
+            pool.release();
+        }
+    }
+    
+    private static Semaphore getBrowserPool(String browserName) {
+        return browserPools.computeIfAbsent(browserName,
+                name -> new BrowserPool(name, ConfigManager.getBrowserPoolSize(name)));
+    }
+    
+    /**
+     * Get number of browser slots currently free for the configured browser
+     * @return Available browser slots
+     */
+    public static int getAvailableBrowserSlots() {
+        return getAvailableBrowserSlots(ConfigManager.getBrowser().toLowerCase());
+    }
+    
+    /**
+     * Get number of slots currently free in the pool of a browser type
+     * @param browserName Browser type
+     * @return Available browser slots
+     */
+    public static int getAvailableBrowserSlots(String browserName) {
+        return getBrowserPool(browserName).availablePermits();
+    }
+    
+    /**
+     * Get installed version of a browser without starting a session
+     * Uses browser.version when set, else runs the browser binary found by WebDriverManager
+     * with --version. Detected once per browser and JVM.
+     * @param browserName chrome, firefox or edge
+     * @return Browser version, or null if it cannot be detected
+     */
+    public static String getInstalledBrowserVersion(String browserName) {
+        String configured = ConfigManager.getProperty("browser.version");
+        if (configured != null && !configured.isEmpty()) {
+            return configured;
+        }
+        String version = browserVersions.computeIfAbsent(browserName.toLowerCase(),
+                name -> detectBrowserVersion(name).orElse(""));
+        return version.isEmpty() ? null : version;
+    }
+    
+    private static Optional<String> detectBrowserVersion(String browserName) {
+        try {
+            Optional<Path> browserPath = WebDriverManager.getInstance(browserName).getBrowserPath();
+            if (browserPath.isEmpty()) {
+                logger.debug("No {} installation found", browserName);
+                return Optional.empty();
+            }
+            
+            Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                    .redirectErrorStream(true).start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = reader.lines().reduce("", String::concat);
             }
+            process.waitFor(10, TimeUnit.SECONDS);
+            
+            Matcher version = VERSION_PATTERN.matcher(output);
+            return version.find() ? Optional.of(version.group()) : Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not detect {} version: {}", browserName, e.getMessage());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
         }
     }
     
@@ -206,4 +844,46 @@ public class DriverManager {
     public static String getPageTitle() {
         return getDriver().getTitle();
     }
-} 
\ No newline at end of file
+    
+    /**
+     * LiveSession - Undecorated driver and pool slot of an open session
+     */
+    private static class LiveSession {
+        private final WebDriver undecorated;
+        private final Semaphore pool;
+        
+        LiveSession(WebDriver undecorated, Semaphore pool) {
+            this.undecorated = undecorated;
+            this.pool = pool;
+        }
+    }
+    
+    /**
+     * BrowserPool - Session pool of one browser type that can be resized while in use
+     * Shrinking takes effect as sessions are returned; no running session is interrupted.
+     */
+    private static class BrowserPool extends Semaphore {
+        private static final long serialVersionUID = 1L;
+        
+        private final String browserName;
+        private int size;
+        
+        BrowserPool(String browserName, int size) {
+            super(size, true);
+            this.browserName = browserName;
+            this.size = size;
+        }
+        
+        synchronized void resize(int newSize) {
+            if (newSize > size) {
+                release(newSize - size);
+            } else if (newSize < size) {
+                reducePermits(size - newSize);
+            }
+            if (newSize != size) {
+                logger.info("{} pool resized from {} to {}", browserName, size, newSize);
+            }
+            size = newSize;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package config;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ServiceLoader;
+
+/**
+ * DriverProvider - Creates and ends browser sessions for DriverManager
+ * Built in: local (driver binaries on this machine), pooled (keeps ended sessions warm for the
+ * next test), remote (Selenium Grid or the in-process standalone stand-in) and htmlunit (headless
+ * engine inside the JVM, no browser process). Other providers can be plugged in as
+ * META-INF/services/config.DriverProvider entries and selected by name.
+ */
+public interface DriverProvider {
+    
+    /**
+     * Name used to select the provider with driver.provider
+     * @return Provider name
+     */
+    String getName();
+    
+    /**
+     * Start a new session
+     * Timeouts and window size are applied by DriverManager afterwards.
+     * @param browserName chrome, firefox or edge
+     * @return Undecorated driver
+     */
+    WebDriver start(String browserName);
+    
+    /**
+     * End a session started by this provider
+     * @param driver Undecorated driver returned by start
+     */
+    default void release(WebDriver driver) {
+        driver.quit();
+    }
+    
+    /**
+     * Release everything the provider still holds (called once at suite end)
+     */
+    default void shutdown() {
+    }
+    
+    /**
+     * Get a provider by name
+     * @param name local, pooled, remote, htmlunit, or the name of a DriverProvider service
+     * @return DriverProvider
+     */
+    static DriverProvider forName(String name) {
+        switch (name.trim().toLowerCase()) {
+            case LocalDriverProvider.NAME:
+                return new LocalDriverProvider();
+            case PooledDriverProvider.NAME:
+                return new PooledDriverProvider(forName(ConfigManager.getDriverPoolDelegate()));
+            case RemoteDriverProvider.NAME:
+                return new RemoteDriverProvider();
+            case HtmlUnitDriverProvider.NAME:
+                return new HtmlUnitDriverProvider();
+            default:
+                for (DriverProvider provider : ServiceLoader.load(DriverProvider.class)) {
+                    if (provider.getName().equalsIgnoreCase(name.trim())) {
+                        return provider;
+                    }
+                }
+                throw new IllegalArgumentException("Unknown driver.provider: " + name);
+        }
+    }
+}
\ No newline at end of file
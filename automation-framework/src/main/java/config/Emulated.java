@@ -0,0 +1,21 @@
+package config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Emulated - Selects the device emulation profile for a test method or class
+ * Overrides the emulation.profile property and the matrix row's profile for the annotated tests.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Emulated {
+    
+    /**
+     * Name of an emulation profile defined in config.properties
+     * @return Profile name
+     */
+    String value();
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EmulationProfile - CPU slowdown, network condition and viewport of an emulated device
+ * Profiles are defined in config.properties as
+ * emulation.&lt;profile&gt;=cpuSlowdown,latencyMs,downloadKbps,uploadKbps,widthxheight
+ * where 0 Kbps means an unlimited link. DriverManager applies the profile to a session.
+ */
+public class EmulationProfile {
+    public static final String NONE_NAME = "none";
+    public static final EmulationProfile NONE = new EmulationProfile(NONE_NAME, 1, 0, 0, 0, 0, 0);
+    
+    private static final String PREFIX = "emulation.";
+    private static final Map<String, EmulationProfile> profiles = new ConcurrentHashMap<>();
+    
+    private final String name;
+    private final double cpuSlowdown;
+    private final long latencyMs;
+    private final long downloadKbps;
+    private final long uploadKbps;
+    private final int width;
+    private final int height;
+    
+    private EmulationProfile(String name, double cpuSlowdown, long latencyMs, long downloadKbps, long uploadKbps,
+            int width, int height) {
+        this.name = name;
+        this.cpuSlowdown = cpuSlowdown;
+        this.latencyMs = latencyMs;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.width = width;
+        this.height = height;
+    }
+    
+    /**
+     * Get profile by name from configuration
+     * @param name Profile name, or "none" for an unthrottled session
+     * @return EmulationProfile
+     */
+    public static EmulationProfile named(String name) {
+        if (name == null || name.trim().isEmpty() || NONE_NAME.equalsIgnoreCase(name.trim())) {
+            return NONE;
+        }
+        return profiles.computeIfAbsent(name.trim(), EmulationProfile::load);
+    }
+    
+    private static EmulationProfile load(String name) {
+        String value = ConfigManager.getProperty(PREFIX + name);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown emulation profile: " + name);
+        }
+        
+        String[] parts = value.split(",");
+        try {
+            String[] viewport = parts.length > 4 ? parts[4].trim().toLowerCase().split("x") : new String[0];
+            return new EmulationProfile(name,
+                    Double.parseDouble(parts[0].trim()),
+                    parts.length > 1 ? Long.parseLong(parts[1].trim()) : 0,
+                    parts.length > 2 ? Long.parseLong(parts[2].trim()) : 0,
+                    parts.length > 3 ? Long.parseLong(parts[3].trim()) : 0,
+                    viewport.length == 2 ? Integer.parseInt(viewport[0].trim()) : 0,
+                    viewport.length == 2 ? Integer.parseInt(viewport[1].trim()) : 0);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid emulation profile " + PREFIX + name + "=" + value, e);
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get CPU slowdown factor (1 = device speed, 4 = four times slower)
+     * @return Slowdown factor
+     */
+    public double getCpuSlowdown() {
+        return cpuSlowdown;
+    }
+    
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+    
+    /**
+     * Get download throughput in bytes per second, as the DevTools protocol expects it
+     * @return Bytes per second, or -1 for no limit
+     */
+    public long getDownloadBytesPerSecond() {
+        return downloadKbps > 0 ? downloadKbps * 1000 / 8 : -1;
+    }
+    
+    /**
+     * Get upload throughput in bytes per second
+     * @return Bytes per second, or -1 for no limit
+     */
+    public long getUploadBytesPerSecond() {
+        return uploadKbps > 0 ? uploadKbps * 1000 / 8 : -1;
+    }
+    
+    /**
+     * Check if the profile throttles the network
+     * @return true if latency or a bandwidth cap is set
+     */
+    public boolean isNetworkThrottled() {
+        return latencyMs > 0 || downloadKbps > 0 || uploadKbps > 0;
+    }
+    
+    /**
+     * Check if the profile sets a viewport
+     * @return true if width and height are set
+     */
+    public boolean hasViewport() {
+        return width > 0 && height > 0;
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s(cpu %sx, %dms, %d/%d Kbps, %s)", name, cpuSlowdown, latencyMs, downloadKbps,
+                uploadKbps, hasViewport() ? width + "x" + height : "window");
+    }
+}
\ No newline at end of file
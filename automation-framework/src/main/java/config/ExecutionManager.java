@@ -0,0 +1,90 @@
+package config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ExecutionManager - Decides which kind of threads the framework runs on
+ * Provides thread factories and executors for test methods and background tasks,
+ * backed by virtual threads when execution.mode=virtual (Java 21+)
+ */
+public class ExecutionManager {
+    private static final Logger logger = LogManager.getLogger(ExecutionManager.class);
+    private static final String VIRTUAL_MODE = "virtual";
+    
+    /**
+     * Check if virtual thread execution mode is enabled
+     * @return true if execution.mode is set to virtual
+     */
+    public static boolean isVirtualThreadMode() {
+        return VIRTUAL_MODE.equalsIgnoreCase(ConfigManager.getExecutionMode());
+    }
+    
+    /**
+     * Create a thread factory for the current execution mode
+     * @param namePrefix Prefix for created thread names
+     * @return Virtual thread factory in virtual mode, daemon platform thread factory otherwise
+     */
+    public static ThreadFactory newThreadFactory(String namePrefix) {
+        if (isVirtualThreadMode()) {
+            return newVirtualThreadFactory(namePrefix);
+        }
+        
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    /**
+     * Create an executor for background tasks
+     * In virtual mode every task gets its own virtual thread, so blocking on
+     * driver HTTP calls or sleeps does not tie up a platform thread
+     * @param namePrefix Prefix for worker thread names
+     * @return ExecutorService for background tasks
+     */
+    public static ExecutorService newTaskExecutor(String namePrefix) {
+        if (isVirtualThreadMode()) {
+            ThreadFactory factory = newVirtualThreadFactory(namePrefix);
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                throw unsupportedRuntime(e);
+            }
+        }
+        return Executors.newCachedThreadPool(newThreadFactory(namePrefix));
+    }
+    
+    /**
+     * Create a virtual thread factory
+     * Looked up reflectively so the default build still compiles and runs on Java 17
+     * @param namePrefix Prefix for created thread names
+     * @return ThreadFactory creating virtual threads
+     */
+    public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, namePrefix + "-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw unsupportedRuntime(e);
+        }
+    }
+    
+    private static IllegalStateException unsupportedRuntime(Exception cause) {
+        logger.error("Virtual threads are not available on Java {}", Runtime.version());
+        return new IllegalStateException(
+                "execution.mode=virtual requires Java 21+, running on " + Runtime.version(), cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * HtmlUnitDriverProvider - Runs sessions in HtmlUnit, a headless browser engine inside the test JVM
+ * Pages are parsed and their scripts run without a browser process, so structural and logic checks
+ * take seconds. There is no rendering: screenshots, CDP and BiDi are not available, and the console,
+ * emulation and DevTools features fall back as they do on other browsers without them.
+ * HtmlUnit comes with the smoke profile (mvn test -Psmoke) and is loaded reflectively so the
+ * default build does not need it.
+ */
+public class HtmlUnitDriverProvider implements DriverProvider {
+    public static final String NAME = "htmlunit";
+    private static final Logger logger = LogManager.getLogger(HtmlUnitDriverProvider.class);
+    private static final String DRIVER_CLASS = "org.openqa.selenium.htmlunit.HtmlUnitDriver";
+    private static final String BROWSER_VERSION_CLASS = "org.htmlunit.BrowserVersion";
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    /**
+     * Start an HtmlUnit session with JavaScript enabled
+     * @param browserName chrome, firefox or edge - the browser HtmlUnit's scripting and headers imitate
+     * @return HtmlUnitDriver
+     */
+    @Override
+    public WebDriver start(String browserName) {
+        try {
+            Class<?> driverClass = Class.forName(DRIVER_CLASS);
+            Class<?> versionClass = Class.forName(BROWSER_VERSION_CLASS);
+            Object version = versionClass.getField(browserVersionField(browserName)).get(null);
+            
+            WebDriver driver = (WebDriver) driverClass.getConstructor(versionClass, boolean.class)
+                    .newInstance(version, true);
+            logger.info("Started HtmlUnit session imitating {}", version);
+            return driver;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("driver.provider=htmlunit needs HtmlUnit on the classpath "
+                    + "(run with mvn test -Psmoke)", e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new IllegalStateException("Could not start HtmlUnit", cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unsupported HtmlUnit version on the classpath", e);
+        }
+    }
+    
+    private static String browserVersionField(String browserName) {
+        switch (browserName) {
+            case "chrome":
+                return "CHROME";
+            case "firefox":
+                return "FIREFOX";
+            case "edge":
+                return "EDGE";
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browserName);
+        }
+    }
+}
\ No newline at end of file
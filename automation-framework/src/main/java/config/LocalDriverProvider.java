@@ -0,0 +1,39 @@
+package config;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * LocalDriverProvider - Starts browsers on this machine with drivers resolved by WebDriverManager
+ */
+public class LocalDriverProvider implements DriverProvider {
+    public static final String NAME = "local";
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public WebDriver start(String browserName) {
+        switch (browserName) {
+            case "chrome":
+                WebDriverManager.chromedriver().setup();
+                return new ChromeDriver((ChromeOptions) DriverManager.getBrowserOptions(browserName));
+            case "firefox":
+                WebDriverManager.firefoxdriver().setup();
+                return new FirefoxDriver((FirefoxOptions) DriverManager.getBrowserOptions(browserName));
+            case "edge":
+                WebDriverManager.edgedriver().setup();
+                return new EdgeDriver((EdgeOptions) DriverManager.getBrowserOptions(browserName));
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browserName);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+package config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * PooledDriverProvider - Keeps ended sessions warm and hands them to the next test
+ * Wraps another provider (driver.pool.delegate). A released session is reset (storage, cookies,
+ * device emulation, about:blank) and kept idle, up to driver.pool.max.idle per browser and
+ * driver.pool.max.uses per session; sessions that fail the reset or a liveness check are quit.
+ * Idle sessions do not hold a browser.pool.size slot.
+ */
+public class PooledDriverProvider implements DriverProvider {
+    public static final String NAME = "pooled";
+    private static final Logger logger = LogManager.getLogger(PooledDriverProvider.class);
+    private static final String RESET_SCRIPT = "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}";
+    
+    private final DriverProvider delegate;
+    private final Map<String, Deque<WebDriver>> idleSessions = new ConcurrentHashMap<>();
+    private final Map<WebDriver, String> browserOf = new ConcurrentHashMap<>();
+    private final Map<WebDriver, Integer> uses = new ConcurrentHashMap<>();
+    
+    public PooledDriverProvider(DriverProvider delegate) {
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public String getName() {
+        return NAME + "(" + delegate.getName() + ")";
+    }
+    
+    @Override
+    public WebDriver start(String browserName) {
+        Deque<WebDriver> idle = idleSessions.computeIfAbsent(browserName, name -> new ConcurrentLinkedDeque<>());
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            if (isAlive(driver)) {
+                uses.merge(driver, 1, Integer::sum);
+                logger.debug("Reusing pooled {} session", browserName);
+                return driver;
+            }
+            discard(driver);
+        }
+        
+        driver = delegate.start(browserName);
+        browserOf.put(driver, browserName);
+        uses.put(driver, 1);
+        return driver;
+    }
+    
+    @Override
+    public void release(WebDriver driver) {
+        String browserName = browserOf.get(driver);
+        Deque<WebDriver> idle = browserName != null ? idleSessions.get(browserName) : null;
+        if (idle == null || uses.getOrDefault(driver, 0) >= ConfigManager.getDriverPoolMaxUses()
+                || idle.size() >= ConfigManager.getDriverPoolMaxIdle() || !reset(driver, browserName)) {
+            discard(driver);
+            return;
+        }
+        idle.addFirst(driver);
+    }
+    
+    @Override
+    public void shutdown() {
+        idleSessions.values().forEach(idle -> {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                discard(driver);
+            }
+        });
+        delegate.shutdown();
+    }
+    
+    /**
+     * Clear the app's storage, cookies and device emulation and leave the app, so the next test starts clean
+     */
+    private boolean reset(WebDriver driver, String browserName) {
+        try {
+            ((JavascriptExecutor) driver).executeScript(RESET_SCRIPT);
+            driver.manage().deleteAllCookies();
+            resetEmulation(driver, browserName);
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            logger.debug("Pooled session failed its reset: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Undo the CPU, network and viewport emulation of DriverManager.applyEmulationProfile
+     * The next test starts without a profile and would not apply "none" itself. Window sizes of
+     * other browsers are set again when the session is handed out.
+     */
+    private static void resetEmulation(WebDriver driver, String browserName) {
+        if (!(driver instanceof HasDevTools) || !("chrome".equals(browserName) || "edge".equals(browserName))) {
+            return;
+        }
+        
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<>("Emulation.setCPUThrottlingRate", Map.of("rate", 1)));
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        devTools.send(new Command<>("Network.emulateNetworkConditions", Map.of(
+                "offline", false,
+                "latency", 0,
+                "downloadThroughput", -1,
+                "uploadThroughput", -1)));
+        devTools.send(new Command<>("Emulation.clearDeviceMetricsOverride", Map.of()));
+    }
+    
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+    
+    private void discard(WebDriver driver) {
+        browserOf.remove(driver);
+        uses.remove(driver);
+        try {
+            delegate.release(driver);
+        } catch (RuntimeException e) {
+            logger.debug("Error while quitting pooled session: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
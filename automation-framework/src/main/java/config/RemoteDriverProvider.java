@@ -0,0 +1,116 @@
+package config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.LocalFileDetector;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import server.StandaloneServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * RemoteDriverProvider - Starts sessions on a Selenium Grid or standalone server (grid.url)
+ * grid.url=standalone runs the in-process StandaloneServer stand-in on localhost. When the
+ * grid does not answer /status as ready, sessions fall back to local browsers if
+ * grid.fallback.local is on, so the same suite also runs on a single offline machine.
+ */
+public class RemoteDriverProvider implements DriverProvider {
+    public static final String NAME = "remote";
+    private static final Logger logger = LogManager.getLogger(RemoteDriverProvider.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String STANDALONE = "standalone";
+    
+    private final DriverProvider fallback = new LocalDriverProvider();
+    private StandaloneServer standalone;
+    private URL gridUrl;
+    private boolean resolved;
+    
+    @Override
+    public String getName() {
+        return NAME;
+    }
+    
+    @Override
+    public WebDriver start(String browserName) {
+        URL url = resolveGrid();
+        if (url == null) {
+            return fallback.start(browserName);
+        }
+        
+        RemoteWebDriver driver = new RemoteWebDriver(url, DriverManager.getBrowserOptions(browserName));
+        driver.setFileDetector(new LocalFileDetector());
+        
+        // Adds DevTools and BiDi support where the grid advertises it (se:cdp, webSocketUrl)
+        return new Augmenter().augment(driver);
+    }
+    
+    @Override
+    public synchronized void shutdown() {
+        if (standalone != null) {
+            standalone.stop();
+            standalone = null;
+            resolved = false;
+        }
+    }
+    
+    /**
+     * Decide once per run where sessions go
+     * @return Grid URL, or null to use local browsers
+     */
+    private synchronized URL resolveGrid() {
+        if (resolved) {
+            return gridUrl;
+        }
+        resolved = true;
+        
+        String configured = ConfigManager.getGridUrl();
+        try {
+            if (STANDALONE.equalsIgnoreCase(configured)) {
+                standalone = StandaloneServer.start(ConfigManager.getGridStandalonePort());
+                gridUrl = standalone.getUrl();
+            } else {
+                gridUrl = new URL(configured);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid grid.url: " + configured, e);
+        }
+        
+        if (!isReady(gridUrl)) {
+            if (!ConfigManager.isGridFallbackLocal()) {
+                throw new IllegalStateException("Selenium grid at " + gridUrl + " is not ready");
+            }
+            logger.warn("Selenium grid at {} is not ready, running browsers locally", gridUrl);
+            gridUrl = null;
+        } else {
+            logger.info("Starting sessions on Selenium grid at {}", gridUrl);
+        }
+        return gridUrl;
+    }
+    
+    /**
+     * Check the grid's /status endpoint
+     */
+    private static boolean isReady(URL url) {
+        try {
+            String statusUrl = url.toString().replaceAll("/+$", "") + "/status";
+            HttpURLConnection connection = (HttpURLConnection) new URL(statusUrl).openConnection();
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(5000);
+            if (connection.getResponseCode() != 200) {
+                return false;
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return mapper.readTree(in).path("value").path("ready").asBoolean(false);
+            }
+        } catch (IOException e) {
+            logger.debug("Grid status check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package config;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SessionBudget - Age, command count and renderer memory of one browser session
+ * Counts the session's driver commands as a WebDriverListener. DriverManager retires a
+ * session that crosses one of the session.budget.* limits and replaces it in the background.
+ */
+public class SessionBudget implements WebDriverListener {
+    // JS heap of the page's renderer (Chromium only; other browsers report -1)
+    private static final String HEAP_SCRIPT = "return performance.memory ? performance.memory.usedJSHeapSize : -1;";
+    
+    private final long startNanos = System.nanoTime();
+    private final LongAdder commands = new LongAdder();
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        commands.increment();
+    }
+    
+    public long getAgeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+    
+    public long getCommands() {
+        return commands.sum();
+    }
+    
+    /**
+     * Check the session against the configured limits
+     * Memory is only sampled when age and command count are within budget.
+     * @param driver Session the budget belongs to
+     * @return Exceeded limit (age, commands or memory), or null within budget
+     */
+    public String findExceededLimit(WebDriver driver) {
+        if (getAgeMillis() > TimeUnit.MINUTES.toMillis(ConfigManager.getSessionMaxAgeMinutes())) {
+            return "age";
+        }
+        if (getCommands() > ConfigManager.getSessionMaxCommands()) {
+            return "commands";
+        }
+        long heapBytes = getRendererHeapBytes(driver);
+        if (heapBytes > ConfigManager.getSessionMaxHeapMb() * 1024L * 1024L) {
+            return "memory";
+        }
+        return null;
+    }
+    
+    /**
+     * Get the JS heap used by the session's current page
+     * @param driver Session
+     * @return Bytes, or -1 if the browser does not report it or the session does not respond
+     */
+    public static long getRendererHeapBytes(WebDriver driver) {
+        try {
+            Object heap = ((JavascriptExecutor) driver).executeScript(HEAP_SCRIPT);
+            return heap instanceof Number ? ((Number) heap).longValue() : -1;
+        } catch (WebDriverException e) {
+            return -1;
+        }
+    }
+}
\ No newline at end of file
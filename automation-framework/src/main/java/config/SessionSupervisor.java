@@ -0,0 +1,137 @@
+package config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * SessionSupervisor - Detects browser sessions that died and retries the interrupted step
+ * Death is seen either by a command failing with a lost-session error or by a heartbeat that
+ * pings idle sessions every driver.heartbeat.seconds. The replacement itself is started by
+ * DriverManager and bound to the thread's driver proxy.
+ */
+public class SessionSupervisor {
+    private static final Logger logger = LogManager.getLogger(SessionSupervisor.class);
+    
+    // Driver messages of crashed tabs, browsers and driver processes
+    private static final List<String> LOST_SESSION_MESSAGES = List.of(
+            "session deleted", "tab crashed", "chrome not reachable", "disconnected: not connected to devtools",
+            "browsing context has been discarded", "failed to decode response from marionette",
+            "tried to run command without establishing a connection");
+    
+    private static final Set<SupervisedDriver> watched = ConcurrentHashMap.newKeySet();
+    private static volatile ScheduledExecutorService heartbeat;
+    
+    /**
+     * Check if a failure means the browser session is gone
+     * @param failure Exception thrown by a driver command
+     * @return true for lost-session and unreachable-browser errors
+     */
+    public static boolean isSessionLost(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            if (current instanceof NoSuchSessionException || current instanceof UnreachableBrowserException) {
+                return true;
+            }
+            if (current instanceof WebDriverException && current.getMessage() != null) {
+                String message = current.getMessage().toLowerCase();
+                if (LOST_SESSION_MESSAGES.stream().anyMatch(message::contains)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Run a step, and run it once more on the replacement session if the browser was lost
+     * The driver proxy has already replaced the session when the lost-session error arrives here.
+     * @param step Step to run
+     * @return Step result
+     */
+    public static <T> T retryOnLostSession(Supplier<T> step) {
+        try {
+            return step.get();
+        } catch (WebDriverException e) {
+            if (!isSessionLost(e)) {
+                throw e;
+            }
+            logger.warn("Browser session was lost during a step, retrying it once: {}", firstLine(e));
+            return step.get();
+        }
+    }
+    
+    /**
+     * Run a step without result, retrying it once on the replacement session if the browser was lost
+     * @param step Step to run
+     */
+    public static void retryOnLostSession(Runnable step) {
+        retryOnLostSession(() -> {
+            step.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Watch a thread's driver proxy with the heartbeat
+     */
+    static void watch(SupervisedDriver driver) {
+        watched.add(driver);
+        long intervalSeconds = ConfigManager.getDriverHeartbeatSeconds();
+        if (intervalSeconds > 0 && heartbeat == null) {
+            synchronized (SessionSupervisor.class) {
+                if (heartbeat == null) {
+                    heartbeat = Executors.newSingleThreadScheduledExecutor(
+                            ExecutionManager.newThreadFactory("session-heartbeat"));
+                    heartbeat.scheduleWithFixedDelay(SessionSupervisor::checkSessions, intervalSeconds,
+                            intervalSeconds, TimeUnit.SECONDS);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stop watching a proxy whose session was quit
+     */
+    static void unwatch(SupervisedDriver driver) {
+        watched.remove(driver);
+    }
+    
+    /**
+     * Ping every idle watched session; busy sessions report their own failures
+     */
+    private static void checkSessions() {
+        for (SupervisedDriver driver : watched) {
+            WebDriver session = driver.getSession();
+            if (session == null || !driver.isIdle()) {
+                continue;
+            }
+            try {
+                session.getWindowHandle();
+            } catch (WebDriverException e) {
+                if (isSessionLost(e)) {
+                    logger.warn("Heartbeat found a dead browser session: {}", firstLine(e));
+                    driver.markLost(session);
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Heartbeat check failed: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private static String firstLine(Throwable failure) {
+        String message = String.valueOf(failure.getMessage());
+        int newline = message.indexOf('\n');
+        return newline >= 0 ? message.substring(0, newline) : message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import utils.ConsoleEvents;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SupervisedDriver - Stable driver proxy of one thread that follows session replacements
+ * Page objects and waits hold the proxy, so a session that replaces a crashed one is used
+ * without rebuilding them. A command that fails because the session is gone, or a session
+ * the heartbeat found dead, makes DriverManager swap in a replacement.
+ */
+class SupervisedDriver implements InvocationHandler {
+    private static final Logger logger = LogManager.getLogger(SupervisedDriver.class);
+    
+    private final Set<Class<?>> interfaces;
+    private final WebDriver proxy;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile WebDriver session;
+    private volatile boolean lost;
+    private volatile String lastUrl;
+    private volatile Map<String, String> lastStorage;
+    private volatile ConsoleEvents console;
+    
+    SupervisedDriver(WebDriver session, ConsoleEvents console) {
+        this.interfaces = interfacesOf(session.getClass());
+        this.proxy = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), this);
+        this.session = session;
+        this.console = console;
+    }
+    
+    /**
+     * Collect the public interfaces of a driver class and its superclasses, so casts such as
+     * JavascriptExecutor or HasDevTools keep working on the proxy
+     */
+    private static Set<Class<?>> interfacesOf(Class<?> driverClass) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = driverClass; type != null; type = type.getSuperclass()) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Modifier.isPublic(candidate.getModifiers())) {
+                    interfaces.add(candidate);
+                }
+            }
+        }
+        interfaces.add(WebDriver.class);
+        return interfaces;
+    }
+    
+    /**
+     * Check if the proxy can stand in for a session (same driver interfaces)
+     * @param candidate New session
+     * @return true if the session can be bound to this proxy
+     */
+    boolean fits(WebDriver candidate) {
+        return interfaces.equals(interfacesOf(candidate.getClass()));
+    }
+    
+    /**
+     * Bind a session and its console stream, which is closed when the session is found dead
+     */
+    void bind(WebDriver newSession, ConsoleEvents newConsole) {
+        session = newSession;
+        console = newConsole;
+        lost = false;
+    }
+    
+    WebDriver getProxy() {
+        return proxy;
+    }
+    
+    WebDriver getSession() {
+        return session;
+    }
+    
+    boolean isIdle() {
+        return inFlight.get() == 0;
+    }
+    
+    /**
+     * Mark a session dead (heartbeat); the next command on this thread replaces it first
+     * @param deadSession Session found dead
+     */
+    void markLost(WebDriver deadSession) {
+        if (session == deadSession) {
+            lost = true;
+            // Wake a thread waiting for console messages that will never come
+            ConsoleEvents deadConsole = console;
+            if (deadConsole != null) {
+                deadConsole.close();
+            }
+        }
+    }
+    
+    @Override
+    public Object invoke(Object proxyInstance, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return args != null && args.length == 1 && proxyInstance == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxyInstance);
+            case "toString":
+                return "SupervisedDriver(" + session + ")";
+            case "quit":
+                DriverManager.quitDriver();
+                return null;
+            default:
+                break;
+        }
+        
+        WebDriver target = session;
+        if (target == null) {
+            logger.warn("Driver not initialized for current thread, initializing new driver");
+            DriverManager.initializeDriver();
+            target = session;
+        } else if (lost) {
+            DriverManager.replaceLostSession(lastUrl, lastStorage);
+            target = session;
+        }
+        
+        inFlight.incrementAndGet();
+        try {
+            Object result = method.invoke(target, args);
+            if ("get".equals(method.getName()) && args != null) {
+                observePage((String) args[0], target);
+            } else if ("getCurrentUrl".equals(method.getName())) {
+                observePage((String) result, target);
+            }
+            return result;
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (target == session && SessionSupervisor.isSessionLost(cause)) {
+                try {
+                    DriverManager.replaceLostSession(lastUrl, lastStorage);
+                } catch (RuntimeException replacementFailure) {
+                    cause.addSuppressed(replacementFailure);
+                }
+            }
+            throw cause;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Remember the page the thread is on and, when it changed, the app's localStorage there
+     * A replacement session cannot read the dead one's storage, so it gets this copy back.
+     */
+    private void observePage(String url, WebDriver target) {
+        if (url == null || url.equals(lastUrl)) {
+            return;
+        }
+        lastUrl = url;
+        if (url.startsWith("http") || url.startsWith("file")) {
+            try {
+                lastStorage = DriverManager.readStorage(target);
+            } catch (RuntimeException e) {
+                logger.debug("Could not read localStorage of {}: {}", url, e.getMessage());
+            }
+        }
+    }
+}
\ No newline at end of file
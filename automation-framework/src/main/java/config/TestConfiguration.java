@@ -0,0 +1,81 @@
+package config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * TestConfiguration - Reads the testConfiguration section of testdata/testdata.json
+ * Holds settings shared by the test data, such as the browsers of the cross-browser matrix
+ * and the per-environment base URLs.
+ */
+public class TestConfiguration {
+    private static final Logger logger = LogManager.getLogger(TestConfiguration.class);
+    private static final String TEST_DATA_FILE = "testdata/testdata.json";
+    private static JsonNode configuration;
+    
+    /**
+     * Get the testConfiguration node, loading it on first use
+     * @return testConfiguration JSON node (missing node if the file is not on the classpath)
+     */
+    public static synchronized JsonNode get() {
+        if (configuration == null) {
+            configuration = load();
+        }
+        return configuration;
+    }
+    
+    /**
+     * Get browsers listed in testConfiguration.browsers
+     * @return Browser names, empty if none are listed
+     */
+    public static List<String> getBrowsers() {
+        List<String> browsers = new ArrayList<>();
+        get().path("browsers").forEach(browser -> browsers.add(browser.asText().trim().toLowerCase()));
+        return browsers;
+    }
+    
+    /**
+     * Get testConfiguration.maxRetries
+     * @return Retry count, or -1 if it is not set
+     */
+    public static int getMaxRetries() {
+        return get().path("maxRetries").asInt(-1);
+    }
+    
+    /**
+     * Get settings of one entry in testConfiguration.environments as property keys
+     * camelCase names become dotted keys, so baseUrl is returned as base.url.
+     * @param environment Environment name, e.g. staging
+     * @return Property key to value, empty if the environment is not listed
+     */
+    public static Map<String, String> getEnvironment(String environment) {
+        Map<String, String> settings = new TreeMap<>();
+        get().path("environments").path(environment).fields().forEachRemaining(field -> settings.put(
+                field.getKey().replaceAll("([a-z0-9])([A-Z])", "$1.$2").toLowerCase(), field.getValue().asText()));
+        return settings;
+    }
+    
+    private static JsonNode load() {
+        try (InputStream inputStream = TestConfiguration.class.getClassLoader()
+                .getResourceAsStream(TEST_DATA_FILE)) {
+            
+            if (inputStream == null) {
+                logger.warn("Test data file not found: {}", TEST_DATA_FILE);
+                return new ObjectMapper().missingNode();
+            }
+            return new ObjectMapper().readTree(inputStream).path("testConfiguration");
+        } catch (IOException e) {
+            logger.error("Error reading test data file: {}", e.getMessage());
+            throw new RuntimeException("Error reading " + TEST_DATA_FILE, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package listeners;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlTest;
+import utils.RunHistory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HistoryScheduler - Orders tests from the run history instead of their static priority
+ * Recently failing tests run first for fast feedback, then the rest longest-first so
+ * parallel pools finish together. Tests without history count as longest.
+ * Enabled with test.order=history; test.order=priority (the default) keeps TestNG's normal order.
+ */
+public class HistoryScheduler implements IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(HistoryScheduler.class);
+    private static final String HISTORY_ORDER = "history";
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!HISTORY_ORDER.equalsIgnoreCase(ConfigManager.getTestOrder())) {
+            return methods;
+        }
+        
+        Map<String, RunHistory.TestStats> history = RunHistory.load();
+        int recentRuns = ConfigManager.getHistoryRecentRuns();
+        
+        XmlTest xmlTest = context.getCurrentXmlTest();
+        Comparator<IMethodInstance> recentlyFailedFirst = Comparator.comparing(
+                method -> !hasFailedRecently(history.get(testId(method, xmlTest)), recentRuns));
+        Comparator<IMethodInstance> longestFirst = Comparator.comparingLong(
+                method -> -expectedDuration(history.get(testId(method, xmlTest))));
+        
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(recentlyFailedFirst.thenComparing(longestFirst));
+        
+        // Priorities win over interceptor order in TestNG, so rewrite them to match
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).getMethod().setPriority(i);
+            RunHistory.TestStats stats = history.get(testId(ordered.get(i), xmlTest));
+            logger.info("Scheduled #{}: {} (expected {}ms{})", i + 1, testId(ordered.get(i), xmlTest),
+                    stats != null ? stats.getExpectedDurationMillis() : "?",
+                    hasFailedRecently(stats, recentRuns) ? ", failed recently" : "");
+        }
+        return ordered;
+    }
+    
+    /**
+     * History id of a method; labelled with the browser in matrix runs
+     */
+    private static String testId(IMethodInstance method, XmlTest xmlTest) {
+        return MatrixListener.label(method.getMethod().getQualifiedName(), xmlTest);
+    }
+    
+    private static boolean hasFailedRecently(RunHistory.TestStats stats, int recentRuns) {
+        return stats != null && stats.hasFailedRecently(recentRuns);
+    }
+    
+    private static long expectedDuration(RunHistory.TestStats stats) {
+        long expected = stats != null ? stats.getExpectedDurationMillis() : -1;
+        return expected >= 0 ? expected : Long.MAX_VALUE;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package listeners;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import server.AppServer;
+import utils.ImpactIndex;
+import utils.ResultCache;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * ImpactListener - Builds the test impact index and runs only tests affected by a diff
+ * Every test's requested app files and page methods are stored in ImpactIndex.
+ * With -Dimpact.base=&lt;git ref&gt; only tests touching files changed since that ref run.
+ */
+public class ImpactListener implements ITestListener, IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(ImpactListener.class);
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String baseRef = ConfigManager.getImpactBaseRef();
+        if (baseRef.isEmpty()) {
+            return methods;
+        }
+        
+        Set<String> selected = ImpactIndex.selectAffectedTests(baseRef,
+                methods.stream().map(ImpactListener::qualifiedName).collect(Collectors.toList()));
+        List<IMethodInstance> affected = methods.stream()
+                .filter(method -> selected.contains(qualifiedName(method)))
+                .collect(Collectors.toList());
+        methods.stream()
+                .filter(method -> !selected.contains(qualifiedName(method)))
+                .forEach(method -> logger.info("Not affected by changes since {}: {}", baseRef, qualifiedName(method)));
+        return affected;
+    }
+    
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (ConfigManager.isImpactTrackingEnabled()) {
+            ImpactIndex.startTest();
+            requestedAssets();
+        }
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+    
+    private void record(ITestResult result) {
+        // Replayed results touched nothing, so keep the entry from the recorded run
+        if (ConfigManager.isImpactTrackingEnabled() && !ResultCache.isReplayed(result)) {
+            ImpactIndex.finishTest(result.getMethod().getQualifiedName(), requestedAssets());
+        }
+    }
+    
+    /**
+     * Drain the files the browser requested from this worker's app server
+     */
+    private static Set<String> requestedAssets() {
+        return ConfigManager.isAppServerEnabled()
+                ? AppServer.forCurrentThread().drainRequestedAssets() : Collections.emptySet();
+    }
+    
+    private static String qualifiedName(IMethodInstance method) {
+        return method.getMethod().getQualifiedName();
+    }
+}
\ No newline at end of file
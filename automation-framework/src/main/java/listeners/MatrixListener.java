@@ -0,0 +1,124 @@
+package listeners;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * MatrixListener - Runs every &lt;test&gt; once per browser of the cross-browser matrix
+ * Each &lt;test&gt; is copied per browser as "name [browser]" with a local browser parameter,
+ * and the copies run in parallel, so a matrix run takes about as long as its slowest browser.
+ * Enabled with -Dbrowser.matrix=true (testConfiguration.browsers) or a browser list.
+ * With -Demulation.matrix=profile,... each row is also copied per emulation profile,
+ * e.g. "name [chrome, rural-3g]". A &lt;test&gt; may also set the emulation parameter itself.
+ */
+public class MatrixListener implements IAlterSuiteListener {
+    private static final Logger logger = LogManager.getLogger(MatrixListener.class);
+    private static final String BROWSER_PARAMETER = "browser";
+    private static final String EMULATION_PARAMETER = "emulation";
+    
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        List<String> browsers = ConfigManager.getMatrixBrowsers();
+        List<String> profiles = ConfigManager.getMatrixEmulationProfiles();
+        if (browsers.isEmpty() && profiles.isEmpty()) {
+            return;
+        }
+        
+        // A missing dimension contributes a single row without its parameter
+        List<String> browserRows = browsers.isEmpty() ? Collections.singletonList(null) : browsers;
+        List<String> profileRows = profiles.isEmpty() ? Collections.singletonList(null) : profiles;
+        
+        for (XmlSuite suite : suites) {
+            // XmlTest.clone() registers the copy with the suite, so iterate over a snapshot
+            List<XmlTest> matrixTests = new ArrayList<>();
+            for (XmlTest test : new ArrayList<>(suite.getTests())) {
+                for (String browser : browserRows) {
+                    for (String profile : profileRows) {
+                        XmlTest rowTest = (XmlTest) test.clone();
+                        if (browser != null) {
+                            rowTest.addParameter(BROWSER_PARAMETER, browser);
+                        }
+                        if (profile != null) {
+                            rowTest.addParameter(EMULATION_PARAMETER, profile);
+                        }
+                        rowTest.setName(test.getName() + " [" + rowLabel(rowTest) + "]");
+                        matrixTests.add(rowTest);
+                    }
+                }
+            }
+            suite.setTests(matrixTests);
+            suite.setParallel(XmlSuite.ParallelMode.TESTS);
+            suite.setThreadCount(Math.max(suite.getThreadCount(), matrixTests.size()));
+            logger.info("Matrix {} x {}: running {} tests in parallel", browsers.isEmpty() ? "[browser]" : browsers,
+                    profiles.isEmpty() ? "[no emulation]" : profiles, matrixTests.size());
+        }
+    }
+    
+    /**
+     * Get the matrix browser a &lt;test&gt; runs on
+     * @param xmlTest TestNG test
+     * @return Browser name, or null outside matrix mode
+     */
+    public static String browserOf(XmlTest xmlTest) {
+        return xmlTest.getLocalParameters().get(BROWSER_PARAMETER);
+    }
+    
+    /**
+     * Get the emulation profile a &lt;test&gt; runs with
+     * @param xmlTest TestNG test
+     * @return Profile name from the matrix row or the test's emulation parameter, else null
+     */
+    public static String emulationOf(XmlTest xmlTest) {
+        return xmlTest.getLocalParameters().get(EMULATION_PARAMETER);
+    }
+    
+    /**
+     * Get the matrix browser of a test result
+     * @param result TestNG result
+     * @return Browser name, or null outside matrix mode
+     */
+    public static String browserOf(ITestResult result) {
+        return browserOf(result.getTestContext().getCurrentXmlTest());
+    }
+    
+    /**
+     * Label a test id with its matrix row, e.g. "tests.E2ETest.testLogin [firefox]"
+     * or "tests.E2ETest.testLogin [chrome, rural-3g]"
+     * @param testId Qualified test name
+     * @param xmlTest TestNG test the method runs in
+     * @return Labelled id, or the plain id outside matrix mode
+     */
+    public static String label(String testId, XmlTest xmlTest) {
+        String row = rowLabel(xmlTest);
+        return row.isEmpty() ? testId : testId + " [" + row + "]";
+    }
+    
+    private static String rowLabel(XmlTest xmlTest) {
+        List<String> parts = new ArrayList<>();
+        if (browserOf(xmlTest) != null) {
+            parts.add(browserOf(xmlTest));
+        }
+        if (emulationOf(xmlTest) != null) {
+            parts.add(emulationOf(xmlTest));
+        }
+        return String.join(", ", parts);
+    }
+    
+    /**
+     * Get the browser-labelled id of a test result
+     * @param result TestNG result
+     * @return Labelled test id
+     */
+    public static String testIdOf(ITestResult result) {
+        return label(result.getMethod().getQualifiedName(), result.getTestContext().getCurrentXmlTest());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package listeners;
+
+import config.ConfigManager;
+import config.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RetryAnalyzer - Retries a failed test when the failure is transient
+ * Only failures caused by one of retry.transient.exceptions (timeouts, stale
+ * elements, lost sessions...) are retried, at most testConfiguration.maxRetries times
+ * (max.retry.count overrides it).
+ * The driver is quit first so the retry starts on a fresh browser session.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LogManager.getLogger(RetryAnalyzer.class);
+    private static final Map<String, Optional<Class<?>>> exceptionClasses = new ConcurrentHashMap<>();
+    
+    private int attempts = 0;
+    
+    @Override
+    public boolean retry(ITestResult result) {
+        String testName = result.getMethod().getQualifiedName();
+        Throwable failure = result.getThrowable();
+        int maxRetries = ConfigManager.getMaxRetryCount();
+        
+        if (attempts >= maxRetries) {
+            logger.warn("Not retrying {}: {} retries used", testName, attempts);
+            return false;
+        }
+        
+        Throwable transientCause = findTransientCause(failure);
+        if (transientCause == null) {
+            logger.info("Not retrying {}: failure is not transient ({})", testName,
+                    failure != null ? failure.getClass().getSimpleName() : "no exception");
+            return false;
+        }
+        
+        attempts++;
+        logger.warn("Retrying {} ({}/{}) after transient {}: {}", testName, attempts, maxRetries,
+                transientCause.getClass().getSimpleName(), transientCause.getMessage());
+        DriverManager.quitDriver();
+        return true;
+    }
+    
+    /**
+     * Find the first exception in the cause chain that is configured as transient
+     * @param failure Test failure
+     * @return Transient exception, or null if the failure is not transient
+     */
+    static Throwable findTransientCause(Throwable failure) {
+        List<String> transientClassNames = ConfigManager.getTransientExceptions();
+        for (Throwable current = failure; current != null; current = current.getCause()) {
+            for (String className : transientClassNames) {
+                Optional<Class<?>> type = exceptionClasses.computeIfAbsent(className, RetryAnalyzer::loadClass);
+                if (type.isPresent() && type.get().isInstance(current)) {
+                    return current;
+                }
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return null;
+    }
+    
+    private static Optional<Class<?>> loadClass(String className) {
+        try {
+            return Optional.of(Class.forName(className));
+        } catch (ClassNotFoundException e) {
+            logger.warn("Unknown transient exception class in config: {}", className);
+            return Optional.empty();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+import utils.RunHistory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * RetryListener - Attaches RetryAnalyzer to every test and reports flaky tests
+ * Flakiness is read from the run history: the share of a test's runs that only
+ * passed after a retry.
+ */
+public class RetryListener implements IAnnotationTransformer, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(RetryListener.class);
+    
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, RunHistory.TestStats> history = RunHistory.load();
+        history.values().stream()
+                .filter(stats -> stats.getFlakinessRate() > 0)
+                .sorted((a, b) -> Double.compare(b.getFlakinessRate(), a.getFlakinessRate()))
+                .forEach(stats -> logger.warn("Flaky test: {} passed only after retry in {}% of {} runs",
+                        stats.getTestId(), String.format("%.1f", stats.getFlakinessRate() * 100),
+                        stats.getCompletedRunCount()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package listeners;
+
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import utils.ResultCache;
+import utils.RunHistory;
+
+/**
+ * RunHistoryListener - Records every test's duration and outcome in the run history
+ * Attempts re-run by RetryAnalyzer are recorded as RETRIED; results replayed from
+ * the result cache are not recorded, since they say nothing about duration.
+ */
+public class RunHistoryListener implements ITestListener {
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, RunHistory.Outcome.PASSED);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, RunHistory.Outcome.FAILED);
+    }
+    
+    @Override
+    public void onTestFailedWithTimeout(ITestResult result) {
+        record(result, RunHistory.Outcome.FAILED);
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, result.wasRetried() ? RunHistory.Outcome.RETRIED : RunHistory.Outcome.SKIPPED);
+    }
+    
+    private void record(ITestResult result, RunHistory.Outcome outcome) {
+        if (ResultCache.isReplayed(result)) {
+            return;
+        }
+        RunHistory.record(MatrixListener.testIdOf(result),
+                Math.max(0, result.getEndMillis() - result.getStartMillis()), outcome);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package listeners;
+
+import config.ExecutionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.graph.GraphThreadPoolExecutor;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VirtualThreadExecutorFactory - TestNG executor factory running suites and test methods on virtual threads
+ * Wired in through -threadpoolfactoryclass by the virtual-threads Maven profile.
+ * Browser concurrency is still bounded by DriverManager's pool, not by thread-count.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+    private static final Logger logger = LogManager.getLogger(VirtualThreadExecutorFactory.class);
+    
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph,
+            IThreadWorkerFactory<ISuite> factory, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+            TimeUnit unit, BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+        GraphThreadPoolExecutor<ISuite> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+                corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        executor.setThreadFactory(ExecutionManager.newVirtualThreadFactory("testng-suite"));
+        return executor;
+    }
+    
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+            IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize, int maximumPoolSize,
+            long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue,
+            Comparator<ITestNGMethod> comparator) {
+        logger.info("Running '{}' test methods on virtual threads (pool size {})", name, corePoolSize);
+        GraphThreadPoolExecutor<ITestNGMethod> executor = new GraphThreadPoolExecutor<>(name, graph, factory,
+                corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, comparator);
+        executor.setThreadFactory(ExecutionManager.newVirtualThreadFactory("testng-method"));
+        return executor;
+    }
+}
\ No newline at end of file
@@ -1,22 +1,33 @@
 package pages;
 
 import config.DriverManager;
+import config.SessionSupervisor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import utils.Histogram;
+import utils.Metrics;
 import utils.WaitUtils;
 
 /**
  * BasePage - Base class for all page objects
  * Provides common functionality and utilities for page interactions
+ * The driver is the thread's supervised proxy; page actions interrupted by a browser crash
+ * are retried once on the replacement session.
  */
 public abstract class BasePage {
     protected static final Logger logger = LogManager.getLogger(BasePage.class);
     protected WebDriver driver;
     
+    // Page action durations, including the wait for the element
+    private static final Histogram NAVIGATE_ACTIONS = Metrics.histogram("page_action_duration_seconds", "action", "navigate");
+    private static final Histogram CLICK_ACTIONS = Metrics.histogram("page_action_duration_seconds", "action", "click");
+    private static final Histogram TYPE_ACTIONS = Metrics.histogram("page_action_duration_seconds", "action", "type");
+    private static final Histogram READ_ACTIONS = Metrics.histogram("page_action_duration_seconds", "action", "read");
+    
     /**
      * Constructor to initialize page
      */
@@ -32,8 +43,12 @@ public abstract class BasePage {
      */
     protected void navigateToUrl(String url) {
         logger.info("Navigating to URL: {}", url);
-        driver.get(url);
-        waitForPageToLoad();
+        long startNanos = System.nanoTime();
+        SessionSupervisor.retryOnLostSession(() -> {
+            driver.get(url);
+            waitForPageToLoad();
+        });
+        NAVIGATE_ACTIONS.recordNanos(System.nanoTime() - startNanos);
     }
     
     /**
@@ -75,8 +90,9 @@ public abstract class BasePage {
      */
     protected void clickElement(By locator) {
         logger.debug("Clicking element: {}", locator);
-        WebElement element = WaitUtils.waitForElementToBeClickable(locator);
-        element.click();
+        long startNanos = System.nanoTime();
+        SessionSupervisor.retryOnLostSession(() -> WaitUtils.waitForElementToBeClickable(locator).click());
+        CLICK_ACTIONS.recordNanos(System.nanoTime() - startNanos);
         logger.debug("Successfully clicked element: {}", locator);
     }
     
@@ -87,9 +103,13 @@ public abstract class BasePage {
      */
     protected void enterText(By locator, String text) {
         logger.debug("Entering text '{}' into element: {}", text, locator);
-        WebElement element = WaitUtils.waitForElementToBeVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        long startNanos = System.nanoTime();
+        SessionSupervisor.retryOnLostSession(() -> {
+            WebElement element = WaitUtils.waitForElementToBeVisible(locator);
+            element.clear();
+            element.sendKeys(text);
+        });
+        TYPE_ACTIONS.recordNanos(System.nanoTime() - startNanos);
         logger.debug("Successfully entered text into element: {}", locator);
     }
     
@@ -100,8 +120,9 @@ public abstract class BasePage {
      */
     protected String getText(By locator) {
         logger.debug("Getting text from element: {}", locator);
-        WebElement element = WaitUtils.waitForElementToBeVisible(locator);
-        String text = element.getText();
+        long startNanos = System.nanoTime();
+        String text = SessionSupervisor.retryOnLostSession(() -> WaitUtils.waitForElementToBeVisible(locator).getText());
+        READ_ACTIONS.recordNanos(System.nanoTime() - startNanos);
         logger.debug("Retrieved text '{}' from element: {}", text, locator);
         return text;
     }
@@ -114,8 +135,10 @@ public abstract class BasePage {
      */
     protected String getAttribute(By locator, String attribute) {
         logger.debug("Getting attribute '{}' from element: {}", attribute, locator);
-        WebElement element = WaitUtils.waitForElementToBeVisible(locator);
-        String attributeValue = element.getAttribute(attribute);
+        long startNanos = System.nanoTime();
+        String attributeValue = SessionSupervisor.retryOnLostSession(
+                () -> WaitUtils.waitForElementToBeVisible(locator).getAttribute(attribute));
+        READ_ACTIONS.recordNanos(System.nanoTime() - startNanos);
         logger.debug("Retrieved attribute '{}' = '{}' from element: {}", attribute, attributeValue, locator);
         return attributeValue;
     }
@@ -214,6 +237,33 @@ public abstract class BasePage {
         waitForPageToLoad();
     }
     
+    /**
+     * Log out and drop all app data (users, calculations) with one script call
+     * Used to give a reused browser session the state of a fresh one.
+     */
+    public void resetAppState() {
+        logger.debug("Resetting app localStorage");
+        DriverManager.clearStorage();
+    }
+    
+    /**
+     * Save the app's localStorage under a name for later restores
+     * @param name Snapshot name
+     */
+    public void saveAppState(String name) {
+        DriverManager.saveStorageSnapshot(name);
+    }
+    
+    /**
+     * Restore a named localStorage snapshot and reload the page so the app picks it up
+     * @param name Snapshot name
+     */
+    public void restoreAppState(String name) {
+        logger.debug("Restoring app localStorage snapshot: {}", name);
+        DriverManager.restoreStorageSnapshot(name);
+        refreshPage();
+    }
+    
     /**
      * Abstract method to verify page is loaded
      * Must be implemented by each page class
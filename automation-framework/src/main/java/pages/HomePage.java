@@ -1,8 +1,11 @@
 package pages;
 
 import config.ConfigManager;
+import utils.ConsoleEvents;
+import utils.DevToolsRecorder;
 import utils.WaitUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 
 /**
  * HomePage - Page Object for home page (string input page)
@@ -155,10 +158,12 @@ public class HomePage extends BasePage {
         logger.info("Submitting string for processing: {}", inputString);
         
         enterStringInput(inputString);
+        DevToolsRecorder.startCpuProfile();
         clickSubmitButton();
         
         // Wait for redirect to results page
         WaitUtils.sleep(2000);
+        DevToolsRecorder.stopCpuProfile("submit");
         
         boolean successful = getCurrentUrl().contains("result");
         logger.info("String submission {}", successful ? "successful" : "failed");
@@ -175,13 +180,31 @@ public class HomePage extends BasePage {
         logger.info("Submitting string and waiting for results: {}", inputString);
         
         enterStringInput(inputString);
+        ConsoleEvents console = ConsoleEvents.current();
+        long mark = console != null ? console.mark() : 0;
+        DevToolsRecorder.startCpuProfile();
         clickSubmitButton();
         
         try {
-            return WaitUtils.waitForUrlToContain("result");
+            if (console == null) {
+                return WaitUtils.waitForUrlToContain("result");
+            }
+            
+            // The app logs the calculation on submit and the result once the results page has rendered
+            try {
+                WaitUtils.waitForConsoleMessage(console, "Calculation logged:", mark);
+                WaitUtils.waitForConsoleMessage(console, "Result displayed:", mark);
+                return true;
+            } catch (TimeoutException e) {
+                // A closed stream says nothing about the page, so wait for the URL instead
+                return console.isClosed() ? WaitUtils.waitForUrlToContain("result")
+                        : getCurrentUrl().contains("result");
+            }
         } catch (Exception e) {
             logger.warn("Results page did not load: {}", e.getMessage());
             return false;
+        } finally {
+            DevToolsRecorder.stopCpuProfile("submit");
         }
     }
     
@@ -0,0 +1,202 @@
+package perf;
+
+import config.ConfigManager;
+import config.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import pages.HomePage;
+import utils.TimingReport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HistoryBenchmark - Submission latency against the size of the stored history
+ * For each configured history size a generated fixture is injected into localStorage and
+ * the current user submits a string several times. logCalculation is timed in the page
+ * (it parses and re-serialises all of agrichainUsers) along with the full submit to the
+ * result page. A linear fit of cost against size gives the per-calculation cost and the
+ * quadratic cost of building a history one submission at a time.
+ */
+public class HistoryBenchmark {
+    private static final Logger logger = LogManager.getLogger(HistoryBenchmark.class);
+    private static final String LOG_CALCULATION_SCRIPT = "var input = arguments[0]; var start = performance.now();"
+            + " logCalculation(input, findLongestSubstring(input)); return performance.now() - start;";
+    
+    private final int users = ConfigManager.getHistoryFixtureUsers();
+    private final List<Integer> sizes = ConfigManager.getHistoryFixtureSizes();
+    private final int repetitions = ConfigManager.getHistoryBenchmarkRepetitions();
+    
+    /**
+     * Run every history size on this thread's session
+     * @return One result per size, in configured order
+     */
+    public List<SizeResult> run() {
+        logger.info("History benchmark: {} users, sizes {}, {} submissions each", users, sizes, repetitions);
+        List<SizeResult> results = new ArrayList<>();
+        DriverManager.initializeDriver();
+        try {
+            for (int size : sizes) {
+                results.add(runSize(size));
+            }
+        } finally {
+            DriverManager.quitDriver();
+        }
+        
+        logFit(results);
+        writeResults(results);
+        return results;
+    }
+    
+    private SizeResult runSize(int calculations) {
+        HistoryFixture fixture = new HistoryFixture(users, calculations, ConfigManager.getTestEmail());
+        Map<String, String> entries = fixture.build();
+        long storageChars = entries.values().stream().mapToLong(String::length).sum();
+        SizeResult result = new SizeResult(calculations, storageChars);
+        
+        String snapshot = "history-" + users + "-" + calculations;
+        DriverManager.registerStorageSnapshot(snapshot, entries);
+        try {
+            long injectStart = System.nanoTime();
+            DriverManager.restoreStorageSnapshot(snapshot);
+            result.injectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - injectStart);
+        } catch (WebDriverException e) {
+            // Typically QuotaExceededError: the history does not fit into the origin's localStorage
+            result.error = e.getMessage().split("\n")[0];
+            logger.warn("History of {} calculations ({} chars) could not be stored: {}", calculations,
+                    storageChars, result.error);
+            return result;
+        }
+        
+        HomePage homePage = new HomePage();
+        String input = ConfigManager.getTestString();
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            homePage.navigateToHomePage();
+            Object pageMillis = ((JavascriptExecutor) DriverManager.getDriver())
+                    .executeScript(LOG_CALCULATION_SCRIPT, input);
+            result.logCalculationMicros.add(Math.round(((Number) pageMillis).doubleValue() * 1000));
+            
+            long submitStart = System.nanoTime();
+            if (!homePage.submitStringAndWaitForResults(input)) {
+                result.error = "Result page not reached";
+                break;
+            }
+            result.submitMicros.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submitStart));
+        }
+        
+        logger.info("History {} calculations ({} chars): inject {}ms, logCalculation p50 {}ms, submit p50 {}ms",
+                calculations, storageChars, result.injectMillis, millis(result.getLogCalculationP50Micros()),
+                millis(result.getSubmitP50Micros()));
+        return result;
+    }
+    
+    /**
+     * Fit logCalculation cost = a + b * calculations and log what a full history costs to build
+     */
+    private void logFit(List<SizeResult> results) {
+        List<SizeResult> measured = new ArrayList<>();
+        results.stream().filter(result -> result.error == null && !result.logCalculationMicros.isEmpty())
+                .forEach(measured::add);
+        if (measured.size() < 2) {
+            return;
+        }
+        
+        double meanSize = measured.stream().mapToDouble(result -> result.calculations).average().orElse(0);
+        double meanCost = measured.stream().mapToDouble(SizeResult::getLogCalculationP50Micros).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (SizeResult result : measured) {
+            covariance += (result.calculations - meanSize) * (result.getLogCalculationP50Micros() - meanCost);
+            variance += (result.calculations - meanSize) * (result.calculations - meanSize);
+        }
+        double perCalculation = variance > 0 ? covariance / variance : 0;
+        double fixed = meanCost - perCalculation * meanSize;
+        
+        int largest = measured.get(measured.size() - 1).calculations;
+        double cumulativeMicros = fixed * largest + perCalculation * largest * (double) largest / 2;
+        logger.info("logCalculation costs {}ms + {}ms per 1000 stored calculations; building a history of {}"
+                + " one submission at a time spends {}s in logCalculation", String.format("%.2f", fixed / 1000),
+                String.format("%.3f", perCalculation), largest, String.format("%.1f", cumulativeMicros / 1e6));
+    }
+    
+    private void writeResults(List<SizeResult> results) {
+        Path outputDir = Paths.get(ConfigManager.getHistoryOutputPath());
+        Path file = outputDir.resolve("history-" + System.currentTimeMillis() + ".csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("users,calculations,storage_chars,inject_ms,log_calculation_p50_ms,submit_p50_ms,error");
+        results.forEach(result -> lines.add(String.format("%d,%d,%d,%d,%s,%s,\"%s\"", users, result.calculations,
+                result.storageChars, result.injectMillis, millis(result.getLogCalculationP50Micros()),
+                millis(result.getSubmitP50Micros()), result.error != null ? result.error.replace("\"", "'") : "")));
+        try {
+            Files.createDirectories(outputDir);
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            logger.info("History benchmark written to {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not write history benchmark: {}", e.getMessage());
+        }
+    }
+    
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+    
+    /**
+     * SizeResult - Measurements for one history size
+     */
+    public static class SizeResult {
+        private final int calculations;
+        private final long storageChars;
+        private final List<Long> logCalculationMicros = new ArrayList<>();
+        private final List<Long> submitMicros = new ArrayList<>();
+        private long injectMillis;
+        private String error;
+        
+        SizeResult(int calculations, long storageChars) {
+            this.calculations = calculations;
+            this.storageChars = storageChars;
+        }
+        
+        public int getCalculations() {
+            return calculations;
+        }
+        
+        public long getStorageChars() {
+            return storageChars;
+        }
+        
+        public long getLogCalculationP50Micros() {
+            return median(logCalculationMicros);
+        }
+        
+        public long getSubmitP50Micros() {
+            return median(submitMicros);
+        }
+        
+        /**
+         * Get why this size could not be measured
+         * @return Error message, or null if measured
+         */
+        public String getError() {
+            return error;
+        }
+        
+        private static long median(List<Long> values) {
+            if (values.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            return TimingReport.percentile(sorted, 50);
+        }
+    }
+}
\ No newline at end of file
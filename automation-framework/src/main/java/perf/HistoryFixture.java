@@ -0,0 +1,138 @@
+package perf;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * HistoryFixture - Generated localStorage contents with a large calculation history
+ * Builds agrichainUsers and currentUser in the shape app.js and auth.js write them, so
+ * a session can start with thousands of users and tens of thousands of calculations in
+ * one injection (DriverManager.registerStorageSnapshot / restoreStorageSnapshot). The
+ * current user is part of agrichainUsers, so logCalculation rewrites the whole array.
+ */
+public class HistoryFixture {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final Instant NEWEST_CALCULATION = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    
+    private final int users;
+    private final int calculations;
+    private final String email;
+    
+    /**
+     * @param users Number of users in agrichainUsers (at least 1)
+     * @param calculations Calculations spread evenly over all users
+     * @param email Email of the current user (the first user)
+     */
+    public HistoryFixture(int users, int calculations, String email) {
+        if (users < 1 || calculations < 0) {
+            throw new IllegalArgumentException("Fixture needs at least 1 user and 0 or more calculations");
+        }
+        this.users = users;
+        this.calculations = calculations;
+        this.email = email;
+    }
+    
+    /**
+     * Build the localStorage entries
+     * Contents are deterministic for the same sizes, so runs stay comparable.
+     * @return localStorage keys and values
+     */
+    public Map<String, String> build() {
+        Random random = new Random(users * 31L + calculations);
+        StringWriter allUsers = new StringWriter(calculations * 128 + users * 128);
+        String currentUser;
+        
+        try (JsonGenerator json = jsonFactory.createGenerator(allUsers)) {
+            json.writeStartArray();
+            StringWriter firstUser = new StringWriter();
+            for (int user = 0; user < users; user++) {
+                int userCalculations = calculations / users + (user < calculations % users ? 1 : 0);
+                if (user == 0) {
+                    try (JsonGenerator userJson = jsonFactory.createGenerator(firstUser)) {
+                        writeUser(userJson, user, userCalculations, random);
+                    }
+                    json.writeRawValue(firstUser.toString());
+                } else {
+                    writeUser(json, user, userCalculations, random);
+                }
+            }
+            json.writeEndArray();
+            currentUser = firstUser.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not build history fixture", e);
+        }
+        
+        Map<String, String> entries = new HashMap<>();
+        entries.put("agrichainUsers", allUsers.toString());
+        entries.put("currentUser", currentUser);
+        return entries;
+    }
+    
+    private void writeUser(JsonGenerator json, int user, int userCalculations, Random random) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("id", "fixture-user-" + user);
+        json.writeStringField("name", "User");
+        json.writeStringField("email", user == 0 ? email : "user" + user + "@fixture.test");
+        json.writeStringField("password", "fixture");
+        json.writeStringField("loginAt", NEWEST_CALCULATION.toString());
+        json.writeArrayFieldStart("calculations");
+        for (int calculation = 0; calculation < userCalculations; calculation++) {
+            writeCalculation(json, user, calculation, random);
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+    }
+    
+    private static void writeCalculation(JsonGenerator json, int user, int calculation, Random random)
+            throws IOException {
+        StringBuilder input = new StringBuilder();
+        int length = 4 + random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        String longest = longestUniqueSubstring(input.toString());
+        
+        json.writeStartObject();
+        json.writeStringField("id", user + "-" + calculation);
+        json.writeStringField("input", input.toString());
+        json.writeNumberField("output", longest.length());
+        json.writeStringField("substring", longest);
+        json.writeStringField("timestamp", NEWEST_CALCULATION.minusSeconds(calculation * 60L).toString());
+        json.writeEndObject();
+    }
+    
+    private static String longestUniqueSubstring(String input) {
+        Map<Character, Integer> lastSeen = new HashMap<>();
+        int start = 0;
+        int bestStart = 0;
+        int bestLength = 0;
+        for (int i = 0; i < input.length(); i++) {
+            Integer seen = lastSeen.put(input.charAt(i), i);
+            if (seen != null && seen >= start) {
+                start = seen + 1;
+            }
+            if (i - start + 1 > bestLength) {
+                bestStart = start;
+                bestLength = i - start + 1;
+            }
+        }
+        return input.substring(bestStart, bestStart + bestLength);
+    }
+    
+    public int getUsers() {
+        return users;
+    }
+    
+    public int getCalculations() {
+        return calculations;
+    }
+}
\ No newline at end of file
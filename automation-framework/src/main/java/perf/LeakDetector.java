@@ -0,0 +1,55 @@
+package perf;
+
+import java.util.List;
+
+/**
+ * LeakDetector - Flags metrics that keep growing over a soak run
+ * A series is flagged when its last window of samples never decreases and the
+ * growth across that window is at least a minimum percentage. Garbage-collected
+ * values (JS and JVM heap) drop now and then, so they are only flagged when they
+ * climb steadily.
+ */
+public class LeakDetector {
+    
+    /**
+     * Check a series for monotonic growth over its last samples
+     * @param series Sample values in time order (negative values mean "not available")
+     * @param window Number of trailing samples to check
+     * @param minGrowthPercent Minimum growth from first to last sample of the window
+     * @return true if the series grows monotonically
+     */
+    public static boolean isMonotonicGrowth(List<Long> series, int window, double minGrowthPercent) {
+        if (series.size() < window || window < 2) {
+            return false;
+        }
+        
+        List<Long> recent = series.subList(series.size() - window, series.size());
+        for (int i = 1; i < recent.size(); i++) {
+            if (recent.get(i) < 0 || recent.get(i) < recent.get(i - 1)) {
+                return false;
+            }
+        }
+        
+        long first = recent.get(0);
+        long last = recent.get(recent.size() - 1);
+        if (first <= 0) {
+            return last > 0;
+        }
+        return (last - first) * 100.0 / first >= minGrowthPercent;
+    }
+    
+    /**
+     * Growth of a series across its last samples
+     * @param series Sample values in time order
+     * @param window Number of trailing samples
+     * @return Percent growth, or 0 if not computable
+     */
+    public static double growthPercent(List<Long> series, int window) {
+        if (series.size() < 2) {
+            return 0;
+        }
+        long first = series.get(Math.max(0, series.size() - window));
+        long last = series.get(series.size() - 1);
+        return first > 0 ? (last - first) * 100.0 / first : 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,415 @@
+package perf;
+
+import config.ConfigManager;
+import config.DriverManager;
+import config.ExecutionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import pages.HomePage;
+import pages.LoginPage;
+import server.AppServer;
+import utils.TimingReport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * LoadGenerator - Drives the login and submit journey with many virtual users
+ * Journeys arrive at the rate given by the load profile (open model) and are picked up
+ * by a fixed set of virtual users, each a headless browser session. Arrivals that find
+ * every user busy and the queue full are dropped and counted. All users share one local
+ * app server, so a run needs no network. Results are written to test-output/load/.
+ */
+public class LoadGenerator {
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+    private static final long TICK_MILLIS = 50;
+    private static final String RESET_SCRIPT = "localStorage.removeItem('currentUser');";
+    
+    private final int users = ConfigManager.getLoadUsers();
+    private final LoadProfile profile = LoadProfile.parse(ConfigManager.getLoadProfile());
+    private final BlockingQueue<Long> arrivals = new ArrayBlockingQueue<>(users);
+    private final List<Journey> journeys = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger startedUsers = new AtomicInteger();
+    private final AtomicLong restartFailures = new AtomicLong();
+    private volatile boolean arrivalsDone;
+    
+    /**
+     * Start the virtual users, play the load profile and summarise the journeys
+     * @return Load report
+     */
+    public LoadReport run() {
+        logger.info("Load run: {} virtual users, profile {} ({}s, peak {}/s)", users, profile,
+                profile.getTotalSeconds(), profile.getPeakRate());
+        if (!ConfigManager.isHeadless()) {
+            logger.warn("Load run is not headless; set headless=true (mvn test -Pload does) for realistic numbers");
+        }
+        if (users > DriverManager.getAvailableBrowserSlots()) {
+            logger.warn("load.users={} exceeds the free browser pool slots ({}); raise browser.pool.size",
+                    users, DriverManager.getAvailableBrowserSlots());
+        }
+        
+        // One server for every virtual user, started before the users bind to it
+        AppServer server = ConfigManager.isAppServerEnabled() ? AppServer.forCurrentThread() : null;
+        
+        CountDownLatch ready = new CountDownLatch(users);
+        ExecutorService executor = ExecutionManager.newTaskExecutor("vu");
+        List<Future<?>> workers = new ArrayList<>();
+        for (int user = 1; user <= users; user++) {
+            int userIndex = user;
+            workers.add(executor.submit(() -> runUser(userIndex, server, ready)));
+        }
+        
+        long startNanos;
+        long elapsedNanos;
+        try {
+            ready.await();
+            if (startedUsers.get() == 0) {
+                throw new IllegalStateException("No virtual user could start a browser session");
+            }
+            
+            startNanos = System.nanoTime();
+            playProfile(startNanos);
+            arrivalsDone = true;
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(worker -> worker.cancel(true));
+            throw new IllegalStateException("Load run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Virtual user failed", e.getCause());
+        } finally {
+            arrivalsDone = true;
+            executor.shutdownNow();
+        }
+        
+        LoadReport report = summarise(elapsedNanos);
+        writeResults(report);
+        return report;
+    }
+    
+    /**
+     * Queue arrivals at the profile's rate until the profile is over
+     */
+    private void playProfile(long startNanos) throws InterruptedException {
+        double due = 0;
+        long lastNanos = startNanos;
+        while (true) {
+            Thread.sleep(TICK_MILLIS);
+            long now = System.nanoTime();
+            double elapsedSeconds = (now - startNanos) / 1e9;
+            if (elapsedSeconds >= profile.getTotalSeconds()) {
+                return;
+            }
+            
+            due += profile.rateAt(elapsedSeconds) * (now - lastNanos) / 1e9;
+            lastNanos = now;
+            while (due >= 1) {
+                due -= 1;
+                if (!arrivals.offer(now)) {
+                    dropped.incrementAndGet();
+                }
+            }
+        }
+    }
+    
+    /**
+     * One virtual user: open a session, then serve arrivals until the profile is over
+     */
+    private void runUser(int user, AppServer server, CountDownLatch ready) {
+        try {
+            if (server != null) {
+                server.bindToCurrentThread();
+            }
+            DriverManager.initializeDriver();
+            startedUsers.incrementAndGet();
+        } catch (RuntimeException e) {
+            logger.error("Virtual user {} could not start a session: {}", user, e.getMessage());
+            return;
+        } finally {
+            ready.countDown();
+        }
+        
+        LoginPage loginPage = new LoginPage();
+        HomePage homePage = new HomePage();
+        long completed = 0;
+        try {
+            while (!(arrivalsDone && arrivals.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+                Long arrivedAt = arrivals.poll(TICK_MILLIS, TimeUnit.MILLISECONDS);
+                if (arrivedAt == null) {
+                    continue;
+                }
+                
+                Journey journey = new Journey(user, arrivedAt);
+                if (loginPage == null && restartSession(user)) {
+                    loginPage = new LoginPage();
+                    homePage = new HomePage();
+                }
+                if (loginPage == null) {
+                    // The last browser start failed and so did this one; the arrival fails without a session
+                    journey.startNanos = System.nanoTime();
+                    journey.error = "No browser session";
+                } else {
+                    try {
+                        runJourney(journey, loginPage, homePage);
+                        completed++;
+                    } catch (RuntimeException e) {
+                        journey.error = e.getMessage();
+                        logger.warn("Virtual user {} journey failed: {}", user, e.getMessage());
+                        
+                        // Start over on a fresh browser in case the session itself broke
+                        loginPage = null;
+                        homePage = null;
+                        if (restartSession(user)) {
+                            loginPage = new LoginPage();
+                            homePage = new HomePage();
+                        }
+                    }
+                }
+                journey.endNanos = System.nanoTime();
+                journeys.add(journey);
+                
+                // Swap a bloated long-lived session for one started in the background
+                if (loginPage != null && DriverManager.retireIfOverBudget()) {
+                    loginPage = null;
+                    homePage = null;
+                    if (restartSession(user)) {
+                        loginPage = new LoginPage();
+                        homePage = new HomePage();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            DriverManager.quitDriver();
+            logger.info("Virtual user {} finished after {} journeys", user, completed);
+        }
+    }
+    
+    /**
+     * Quit the user's session and start a new one; a failed start is counted and retried by the next arrival
+     * @return true if the user has a browser again
+     */
+    private boolean restartSession(int user) {
+        try {
+            DriverManager.quitDriver();
+            DriverManager.initializeDriver();
+            return true;
+        } catch (RuntimeException e) {
+            restartFailures.incrementAndGet();
+            logger.warn("Virtual user {} could not start a new browser: {}", user, e.getMessage());
+            return false;
+        }
+    }
+    
+    private void runJourney(Journey journey, LoginPage loginPage, HomePage homePage) {
+        journey.startNanos = System.nanoTime();
+        loginPage.navigateToLoginPage();
+        if (!loginPage.performCompleteLogin(ConfigManager.getTestEmail(), ConfigManager.getTestPassword())) {
+            throw new IllegalStateException("Login failed");
+        }
+        journey.loginEndNanos = System.nanoTime();
+        if (!homePage.submitStringAndWaitForResults(ConfigManager.getTestString())) {
+            throw new IllegalStateException("Result page not reached");
+        }
+        journey.submitEndNanos = System.nanoTime();
+        
+        // Log out without the logout flow's fixed waits so the next arrival starts on the login page
+        ((JavascriptExecutor) DriverManager.getDriver()).executeScript(RESET_SCRIPT);
+    }
+    
+    private LoadReport summarise(long elapsedNanos) {
+        List<Journey> all;
+        synchronized (journeys) {
+            all = new ArrayList<>(journeys);
+        }
+        List<Journey> passed = all.stream().filter(journey -> journey.error == null).collect(Collectors.toList());
+        
+        LoadReport report = new LoadReport(all.size(), all.size() - passed.size(), dropped.get(),
+                restartFailures.get(), elapsedNanos / 1e9);
+        report.latencies.put("login", percentiles(passed, journey -> journey.loginEndNanos - journey.startNanos));
+        report.latencies.put("submit", percentiles(passed, journey -> journey.submitEndNanos - journey.loginEndNanos));
+        report.latencies.put("journey", percentiles(passed, journey -> journey.submitEndNanos - journey.startNanos));
+        report.latencies.put("queue_wait", percentiles(all, journey -> journey.startNanos - journey.arrivedAtNanos));
+        
+        logger.info("Load finished: {} journeys in {}s ({} /s), error rate {}%, {} dropped, {} failed browser starts",
+                report.journeys, String.format("%.1f", report.elapsedSeconds),
+                String.format("%.2f", report.getThroughput()), String.format("%.1f", report.getErrorRate() * 100),
+                report.dropped, report.restartFailures);
+        report.latencies.forEach((name, values) -> logger.info("  {} ms | p50={} p90={} p99={} max={}",
+                name, values.get("p50"), values.get("p90"), values.get("p99"), values.get("max")));
+        return report;
+    }
+    
+    private static Map<String, Long> percentiles(List<Journey> journeys, ToLongFunction<Journey> nanos) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        List<Long> sorted = journeys.stream()
+                .map(journey -> TimeUnit.NANOSECONDS.toMillis(nanos.applyAsLong(journey)))
+                .sorted()
+                .collect(Collectors.toList());
+        if (sorted.isEmpty()) {
+            return values;
+        }
+        for (int percentile : new int[] {50, 90, 95, 99}) {
+            values.put("p" + percentile, TimingReport.percentile(sorted, percentile));
+        }
+        values.put("max", sorted.get(sorted.size() - 1));
+        return values;
+    }
+    
+    private void writeResults(LoadReport report) {
+        Path outputDir = Paths.get(ConfigManager.getLoadOutputPath());
+        String baseName = "load-" + System.currentTimeMillis();
+        
+        List<String> lines = new ArrayList<>();
+        lines.add("user,arrived_ms,queue_wait_ms,login_ms,submit_ms,journey_ms,error");
+        synchronized (journeys) {
+            long origin = journeys.stream().mapToLong(journey -> journey.arrivedAtNanos).min().orElse(0);
+            journeys.forEach(journey -> lines.add(journey.toCsv(origin)));
+        }
+        
+        List<String> summary = new ArrayList<>();
+        summary.add("metric,value");
+        summary.add("users," + users);
+        summary.add("profile,\"" + profile + "\"");
+        summary.add("journeys," + report.journeys);
+        summary.add("errors," + report.errors);
+        summary.add("dropped," + report.dropped);
+        summary.add("restart_failures," + report.restartFailures);
+        summary.add(String.format("throughput_per_second,%.3f", report.getThroughput()));
+        summary.add(String.format("error_rate,%.4f", report.getErrorRate()));
+        report.latencies.forEach((name, values) ->
+                values.forEach((percentile, millis) -> summary.add(name + "_" + percentile + "_ms," + millis)));
+        
+        try {
+            Files.createDirectories(outputDir);
+            Files.write(outputDir.resolve(baseName + ".csv"), lines, StandardCharsets.UTF_8);
+            Files.write(outputDir.resolve(baseName + "-summary.csv"), summary, StandardCharsets.UTF_8);
+            logger.info("Load results written to {}.csv and {}-summary.csv", outputDir.resolve(baseName),
+                    outputDir.resolve(baseName));
+        } catch (IOException e) {
+            logger.warn("Could not write load results: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Journey - Timestamps of one arrival
+     */
+    private static class Journey {
+        private final int user;
+        private final long arrivedAtNanos;
+        private long startNanos;
+        private long loginEndNanos;
+        private long submitEndNanos;
+        private long endNanos;
+        private String error;
+        
+        Journey(int user, long arrivedAtNanos) {
+            this.user = user;
+            this.arrivedAtNanos = arrivedAtNanos;
+        }
+        
+        String toCsv(long originNanos) {
+            boolean passed = error == null;
+            return String.format("%d,%d,%d,%s,%s,%d,\"%s\"", user,
+                    TimeUnit.NANOSECONDS.toMillis(arrivedAtNanos - originNanos),
+                    TimeUnit.NANOSECONDS.toMillis(startNanos - arrivedAtNanos),
+                    passed ? TimeUnit.NANOSECONDS.toMillis(loginEndNanos - startNanos) : "",
+                    passed ? TimeUnit.NANOSECONDS.toMillis(submitEndNanos - loginEndNanos) : "",
+                    TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos),
+                    passed ? "" : String.valueOf(error).replace("\"", "'"));
+        }
+    }
+    
+    /**
+     * LoadReport - Outcome of a load run
+     */
+    public static class LoadReport {
+        private final long journeys;
+        private final long errors;
+        private final long dropped;
+        private final long restartFailures;
+        private final double elapsedSeconds;
+        private final Map<String, Map<String, Long>> latencies = new LinkedHashMap<>();
+        
+        LoadReport(long journeys, long errors, long dropped, long restartFailures, double elapsedSeconds) {
+            this.journeys = journeys;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.restartFailures = restartFailures;
+            this.elapsedSeconds = elapsedSeconds;
+        }
+        
+        public long getJourneys() {
+            return journeys;
+        }
+        
+        public long getErrors() {
+            return errors;
+        }
+        
+        /**
+         * Get arrivals that found every virtual user busy and the queue full
+         * @return Dropped arrivals
+         */
+        public long getDropped() {
+            return dropped;
+        }
+        
+        /**
+         * Get browser restarts after a failed journey or a retired session that did not start
+         * @return Failed browser starts
+         */
+        public long getRestartFailures() {
+            return restartFailures;
+        }
+        
+        /**
+         * Get completed journeys per second over the whole run
+         * @return Throughput
+         */
+        public double getThroughput() {
+            return elapsedSeconds > 0 ? (journeys - errors) / elapsedSeconds : 0;
+        }
+        
+        /**
+         * Get the share of journeys that failed
+         * @return Error rate between 0 and 1
+         */
+        public double getErrorRate() {
+            return journeys > 0 ? (double) errors / journeys : 0;
+        }
+        
+        /**
+         * Get latency percentiles per step
+         * @return Step (login, submit, journey, queue_wait) to p50/p90/p95/p99/max in milliseconds
+         */
+        public Map<String, Map<String, Long>> getLatencies() {
+            return latencies;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * LoadProfile - Target arrival rate over time for a load run
+ * Parsed from "seconds:rate" stages, e.g. "30:2,60:2,10:0". The rate moves linearly
+ * from the previous stage's target (0 before the first stage) to each stage's target,
+ * so "30:2" ramps up to 2 journeys per second over 30 seconds.
+ */
+public class LoadProfile {
+    private final List<Stage> stages;
+    private final double totalSeconds;
+    
+    LoadProfile(List<Stage> stages) {
+        this.stages = Collections.unmodifiableList(stages);
+        this.totalSeconds = stages.stream().mapToDouble(stage -> stage.seconds).sum();
+    }
+    
+    /**
+     * Parse a comma separated list of seconds:rate stages
+     * @param spec Profile, e.g. "30:2,60:2,10:0"
+     * @return Load profile
+     */
+    public static LoadProfile parse(String spec) {
+        List<Stage> stages = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] fields = part.trim().split(":");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Load stage must be seconds:rate, got '" + part.trim() + "'");
+            }
+            double seconds = Double.parseDouble(fields[0].trim());
+            double rate = Double.parseDouble(fields[1].trim());
+            if (seconds <= 0 || rate < 0) {
+                throw new IllegalArgumentException("Load stage needs seconds > 0 and rate >= 0: '" + part.trim() + "'");
+            }
+            stages.add(new Stage(seconds, rate));
+        }
+        return new LoadProfile(stages);
+    }
+    
+    /**
+     * Get the target arrival rate at a point of the run
+     * @param elapsedSeconds Seconds since the run started
+     * @return Journeys per second, 0 once the profile is over
+     */
+    public double rateAt(double elapsedSeconds) {
+        double stageStart = 0;
+        double fromRate = 0;
+        for (Stage stage : stages) {
+            if (elapsedSeconds < stageStart + stage.seconds) {
+                double progress = (elapsedSeconds - stageStart) / stage.seconds;
+                return fromRate + (stage.rate - fromRate) * progress;
+            }
+            stageStart += stage.seconds;
+            fromRate = stage.rate;
+        }
+        return 0;
+    }
+    
+    public double getTotalSeconds() {
+        return totalSeconds;
+    }
+    
+    /**
+     * Get the highest target rate of any stage
+     * @return Peak journeys per second
+     */
+    public double getPeakRate() {
+        return stages.stream().mapToDouble(stage -> stage.rate).max().orElse(0);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        stages.forEach(stage -> spec.append(spec.length() > 0 ? "," : "").append(stage.seconds).append(':').append(stage.rate));
+        return spec.toString();
+    }
+    
+    /**
+     * Stage - Ramp to a target rate over a number of seconds
+     */
+    static class Stage {
+        private final double seconds;
+        private final double rate;
+        
+        Stage(double seconds, double rate) {
+            this.seconds = seconds;
+            this.rate = rate;
+        }
+    }
+}
\ No newline at end of file
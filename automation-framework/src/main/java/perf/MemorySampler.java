@@ -0,0 +1,119 @@
+package perf;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * MemorySampler - Takes memory samples of a browser session and the test JVM
+ * Browser values come from one script call: performance.memory (Chromium only) and
+ * the size of the app's localStorage. Driver RSS is the resident memory of all driver
+ * and browser processes started by this JVM (Linux /proc only).
+ */
+public class MemorySampler {
+    private static final Logger logger = LogManager.getLogger(MemorySampler.class);
+    
+    // Single round trip: JS heap, localStorage sizes and the number of stored calculations
+    private static final String SAMPLE_SCRIPT =
+            "var users = localStorage.getItem('agrichainUsers') || '';"
+            + "var calculations = 0;"
+            + "try { JSON.parse(users || '[]').forEach(function (u) {"
+            + "  calculations += (u.calculations || []).length; }); } catch (e) { calculations = -1; }"
+            + "var total = 0;"
+            + "for (var i = 0; i < localStorage.length; i++) {"
+            + "  var key = localStorage.key(i); total += key.length + (localStorage.getItem(key) || '').length; }"
+            + "return { jsHeapUsed: performance.memory ? performance.memory.usedJSHeapSize : -1,"
+            + "  usersBytes: users.length, calculations: calculations, localStorageBytes: total };";
+    
+    /**
+     * Sample a browser session and the JVM
+     * @param driver Session to sample (must be on an app page)
+     * @param session Session index
+     * @param iteration Completed journeys of the session
+     * @return Sample
+     */
+    @SuppressWarnings("unchecked")
+    public static Sample sample(WebDriver driver, int session, long iteration) {
+        Sample sample = new Sample();
+        sample.timestampMillis = System.currentTimeMillis();
+        sample.session = session;
+        sample.iteration = iteration;
+        
+        Map<String, Object> browser = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SAMPLE_SCRIPT);
+        sample.jsHeapUsed = toLong(browser.get("jsHeapUsed"));
+        sample.usersBytes = toLong(browser.get("usersBytes"));
+        sample.calculations = toLong(browser.get("calculations"));
+        sample.localStorageBytes = toLong(browser.get("localStorageBytes"));
+        
+        sample.driverRssKb = getDriverRssKb();
+        sample.jvmHeapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        return sample;
+    }
+    
+    /**
+     * Sum resident memory of every process started by this JVM (drivers and browsers)
+     * @return RSS in KB, or -1 where /proc is not available
+     */
+    public static long getDriverRssKb() {
+        if (!Files.isDirectory(Paths.get("/proc/self"))) {
+            return -1;
+        }
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> readRssKb(process.pid()).orElse(0L))
+                .sum();
+    }
+    
+    private static Optional<Long> readRssKb(long pid) {
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            List<String> lines = Files.readAllLines(status);
+            return lines.stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> Long.parseLong(line.replaceAll("\\D+", "")))
+                    .findFirst();
+        } catch (IOException | NumberFormatException e) {
+            // Process exited between listing and reading
+            logger.trace("No RSS for pid {}: {}", pid, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+    
+    /**
+     * Sample - Memory readings of one session at one point in time
+     */
+    public static class Sample {
+        public long timestampMillis;
+        public int session;
+        public long iteration;
+        public long jsHeapUsed;
+        public long usersBytes;
+        public long calculations;
+        public long localStorageBytes;
+        public long driverRssKb;
+        public long jvmHeapUsed;
+        
+        static String csvHeader() {
+            return "timestamp_ms,session,iteration,js_heap_used,agrichain_users_bytes,calculations,"
+                    + "local_storage_bytes,driver_rss_kb,jvm_heap_used";
+        }
+        
+        String toCsv() {
+            return String.format("%d,%d,%d,%d,%d,%d,%d,%d,%d", timestampMillis, session, iteration, jsHeapUsed,
+                    usersBytes, calculations, localStorageBytes, driverRssKb, jvmHeapUsed);
+        }
+    }
+}
\ No newline at end of file
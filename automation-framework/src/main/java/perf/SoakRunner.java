@@ -0,0 +1,286 @@
+package perf;
+
+import config.ConfigManager;
+import config.DriverManager;
+import config.ExecutionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import pages.HomePage;
+import pages.LoginPage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * SoakRunner - Repeats the login, submit, result, logout journey for a long time
+ * A fixed number of sessions loop the journey until the soak duration is over. Each
+ * session samples its memory at a fixed interval; at the end every metric is checked
+ * for monotonic growth and samples are written to test-output/soak/.
+ */
+public class SoakRunner {
+    private static final Logger logger = LogManager.getLogger(SoakRunner.class);
+    private static final long RESTART_BACKOFF_MILLIS = 5000;
+    
+    private final int sessions = ConfigManager.getSoakSessions();
+    private final long durationMillis = TimeUnit.MINUTES.toMillis(ConfigManager.getSoakDurationMinutes());
+    private final long sampleIntervalMillis = TimeUnit.SECONDS.toMillis(ConfigManager.getSoakSampleIntervalSeconds());
+    private final List<MemorySampler.Sample> samples = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong iterations = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    
+    /**
+     * Run the soak and analyse the samples
+     * @return Soak report
+     */
+    public SoakReport run() {
+        logger.info("Soak run: {} sessions for {} minutes, sampling every {}s", sessions,
+                ConfigManager.getSoakDurationMinutes(), ConfigManager.getSoakSampleIntervalSeconds());
+        long deadline = System.currentTimeMillis() + durationMillis;
+        
+        ExecutorService executor = ExecutionManager.newTaskExecutor("soak");
+        List<Future<?>> workers = new ArrayList<>();
+        for (int session = 1; session <= sessions; session++) {
+            int sessionIndex = session;
+            workers.add(executor.submit(() -> runSession(sessionIndex, deadline)));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(worker -> worker.cancel(true));
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Soak session failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        SoakReport report = analyse();
+        writeSamples();
+        return report;
+    }
+    
+    /**
+     * Loop the journey on one session until the deadline
+     */
+    private void runSession(int session, long deadline) {
+        DriverManager.initializeDriver();
+        LoginPage loginPage = new LoginPage();
+        HomePage homePage = new HomePage();
+        long completed = 0;
+        long nextSampleAt = System.currentTimeMillis();
+        
+        try {
+            while (System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                if (loginPage == null) {
+                    // The last browser start failed; back off, then try again unless the soak is over
+                    try {
+                        Thread.sleep(RESTART_BACKOFF_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (System.currentTimeMillis() >= deadline || !replaceSession(session)) {
+                        continue;
+                    }
+                    loginPage = new LoginPage();
+                    homePage = new HomePage();
+                }
+                
+                try {
+                    runJourney(loginPage, homePage);
+                    completed++;
+                    iterations.incrementAndGet();
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                    logger.warn("Soak session {} journey failed: {}", session, e.getMessage());
+                    
+                    // Start over on a fresh browser in case the session itself broke; the page
+                    // objects would start one unguarded, so they are only rebuilt after a good start
+                    loginPage = null;
+                    homePage = null;
+                    if (replaceSession(session)) {
+                        loginPage = new LoginPage();
+                        homePage = new HomePage();
+                    }
+                }
+                
+                if (loginPage != null && System.currentTimeMillis() >= nextSampleAt) {
+                    sample(session, completed);
+                    nextSampleAt = System.currentTimeMillis() + sampleIntervalMillis;
+                }
+            }
+        } finally {
+            DriverManager.quitDriver();
+            logger.info("Soak session {} finished after {} journeys", session, completed);
+        }
+    }
+    
+    /**
+     * Quit the session and start a new one; a failed start is counted and retried after a back-off
+     * @return true if the session has a browser again
+     */
+    private boolean replaceSession(int session) {
+        try {
+            DriverManager.quitDriver();
+            DriverManager.initializeDriver();
+            return true;
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            logger.warn("Soak session {} could not start a new browser: {}", session, e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Sample the session's memory; a failed sample is counted instead of ending the soak
+     */
+    private void sample(int session, long completed) {
+        try {
+            // A new browser is still on its start page, where localStorage cannot be read
+            WebDriver driver = DriverManager.getDriver();
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl == null || !(currentUrl.startsWith("http") || currentUrl.startsWith("file"))) {
+                driver.get(ConfigManager.getBaseUrl());
+            }
+            samples.add(MemorySampler.sample(driver, session, completed));
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            logger.warn("Soak session {} memory sample failed: {}", session, e.getMessage());
+        }
+    }
+    
+    private void runJourney(LoginPage loginPage, HomePage homePage) {
+        loginPage.navigateToLoginPage();
+        if (!loginPage.performCompleteLogin(ConfigManager.getTestEmail(), ConfigManager.getTestPassword())) {
+            throw new IllegalStateException("Login failed");
+        }
+        if (!homePage.submitStringAndWaitForResults(ConfigManager.getTestString())) {
+            throw new IllegalStateException("Result page not reached");
+        }
+        // The result page has the same logout link as the home page
+        if (!homePage.performLogout()) {
+            throw new IllegalStateException("Logout failed");
+        }
+    }
+    
+    /**
+     * Check the browser metrics of every session, and the process metrics once, for monotonic growth
+     */
+    private SoakReport analyse() {
+        SoakReport report = new SoakReport(iterations.get(), errors.get(), samples.size());
+        
+        Map<String, ToLongFunction<MemorySampler.Sample>> sessionMetrics = Map.of(
+                "js_heap_used", sample -> sample.jsHeapUsed,
+                "agrichain_users_bytes", sample -> sample.usersBytes,
+                "calculations", sample -> sample.calculations,
+                "local_storage_bytes", sample -> sample.localStorageBytes);
+        // Driver RSS and JVM heap cover the whole JVM, so every session would report the same growth
+        Map<String, ToLongFunction<MemorySampler.Sample>> processMetrics = Map.of(
+                "driver_rss_kb", sample -> sample.driverRssKb,
+                "jvm_heap_used", sample -> sample.jvmHeapUsed);
+        
+        Map<Integer, List<MemorySampler.Sample>> bySession;
+        synchronized (samples) {
+            bySession = samples.stream()
+                    .sorted(Comparator.comparingLong(sample -> sample.timestampMillis))
+                    .collect(Collectors.groupingBy(sample -> sample.session, TreeMap::new, Collectors.toList()));
+        }
+        
+        bySession.forEach((session, sessionSamples) -> sessionMetrics.forEach((metric, value) ->
+                checkGrowth(report, "session " + session, metric, sessionSamples, value)));
+        // One session's samples give one process reading per sample interval
+        if (!bySession.isEmpty()) {
+            List<MemorySampler.Sample> processSamples = bySession.values().iterator().next();
+            processMetrics.forEach((metric, value) -> checkGrowth(report, "process", metric, processSamples, value));
+        }
+        
+        logger.info("Soak finished: {} journeys, {} errors, {} samples, {} growing metrics",
+                report.iterations, report.errors, report.samples, report.leaks.size());
+        return report;
+    }
+    
+    private static void checkGrowth(SoakReport report, String scope, String metric, List<MemorySampler.Sample> samples,
+                                    ToLongFunction<MemorySampler.Sample> value) {
+        int window = ConfigManager.getSoakLeakWindow();
+        List<Long> series = samples.stream().map(value::applyAsLong).collect(Collectors.toList());
+        if (LeakDetector.isMonotonicGrowth(series, window, ConfigManager.getSoakLeakMinGrowthPercent())) {
+            String leak = String.format("%s: %s grew %.1f%% over the last %d samples (%d -> %d)",
+                    scope, metric, LeakDetector.growthPercent(series, window), window,
+                    series.get(series.size() - window), series.get(series.size() - 1));
+            report.leaks.add(leak);
+            logger.warn("Possible leak - {}", leak);
+        }
+    }
+    
+    private void writeSamples() {
+        Path outputDir = Paths.get(ConfigManager.getSoakOutputPath());
+        Path file = outputDir.resolve("soak-" + System.currentTimeMillis() + ".csv");
+        List<String> lines = new ArrayList<>();
+        lines.add(MemorySampler.Sample.csvHeader());
+        synchronized (samples) {
+            samples.forEach(sample -> lines.add(sample.toCsv()));
+        }
+        try {
+            Files.createDirectories(outputDir);
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            logger.info("Soak samples written to {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not write soak samples: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * SoakReport - Outcome of a soak run
+     */
+    public static class SoakReport {
+        private final long iterations;
+        private final long errors;
+        private final int samples;
+        private final List<String> leaks = new ArrayList<>();
+        
+        SoakReport(long iterations, long errors, int samples) {
+            this.iterations = iterations;
+            this.errors = errors;
+            this.samples = samples;
+        }
+        
+        public long getIterations() {
+            return iterations;
+        }
+        
+        public long getErrors() {
+            return errors;
+        }
+        
+        public int getSamples() {
+            return samples;
+        }
+        
+        /**
+         * Get metrics flagged for monotonic growth
+         * @return One description per flagged session or process metric
+         */
+        public List<String> getLeaks() {
+            return leaks;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,309 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.ConfigManager;
+import config.ExecutionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.WaitUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+/**
+ * AppServer - Embedded HTTP server for the application under test
+ * Serves the HTML/JS/CSS files from memory. Every worker thread gets its own
+ * server on its own port, so each worker has a separate origin and localStorage.
+ */
+public class AppServer {
+    private static final Logger logger = LogManager.getLogger(AppServer.class);
+    private static final String HOST = "127.0.0.1";
+    private static final Map<String, Asset> assets = new ConcurrentHashMap<>();
+    private static final ThreadLocal<AppServer> workerServer = new ThreadLocal<>();
+    private static final List<AppServer> runningServers = new CopyOnWriteArrayList<>();
+    
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private volatile ThrottleProfile throttleProfile = ThrottleProfile.named(ConfigManager.getThrottleProfile());
+    private final Set<String> requestedAssets = ConcurrentHashMap.newKeySet();
+    
+    static {
+        // Pick up throttle rules changed by a configuration reload
+        ConfigManager.addChangeListener(changedKeys -> {
+            if (changedKeys.stream().anyMatch(key -> key.startsWith("throttle."))) {
+                ThrottleProfile.clearCache();
+                runningServers.forEach(AppServer::reloadThrottleProfile);
+            }
+        });
+    }
+    
+    private AppServer() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getByName(HOST), 0), 0);
+        executor = ExecutionManager.newTaskExecutor("app-server");
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+    }
+    
+    /**
+     * Get the server for the current worker thread, starting one if needed
+     * @return AppServer bound to this thread
+     */
+    public static AppServer forCurrentThread() {
+        AppServer server = workerServer.get();
+        if (server == null || !runningServers.contains(server)) {
+            loadAssets();
+            try {
+                server = new AppServer();
+            } catch (IOException e) {
+                logger.error("Failed to start app server: {}", e.getMessage());
+                throw new RuntimeException("App server start failed", e);
+            }
+            workerServer.set(server);
+            runningServers.add(server);
+            logger.info("App server started for {} on port {}", Thread.currentThread().getName(), server.getPort());
+        }
+        return server;
+    }
+    
+    /**
+     * Make this server the one used by the current thread
+     * Lets many worker threads share one server, e.g. virtual users of a load run.
+     */
+    public void bindToCurrentThread() {
+        workerServer.set(this);
+    }
+    
+    /**
+     * Stop all running app servers (called once at suite end)
+     */
+    public static void stopAll() {
+        for (AppServer server : runningServers) {
+            server.stop();
+        }
+        runningServers.clear();
+        workerServer.remove();
+    }
+    
+    /**
+     * Select the throttle profile for requests to this server
+     * @param profileName Profile name from config.properties, or "none"
+     */
+    public void setThrottleProfile(String profileName) {
+        ThrottleProfile profile = ThrottleProfile.named(profileName);
+        if (profile != throttleProfile) {
+            logger.info("App server on port {} using throttle profile: {}", getPort(), profile);
+        }
+        throttleProfile = profile;
+    }
+    
+    /**
+     * Re-read the rules of the profile in use after a configuration reload
+     */
+    private void reloadThrottleProfile() {
+        try {
+            throttleProfile = ThrottleProfile.named(throttleProfile.getName());
+            logger.info("App server on port {} reloaded throttle profile: {}", getPort(), throttleProfile);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Keeping throttle profile {}: {}", throttleProfile.getName(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Get active throttle profile
+     * @return ThrottleProfile in use
+     */
+    public ThrottleProfile getThrottleProfile() {
+        return throttleProfile;
+    }
+    
+    /**
+     * Get and clear the app files requested from this server
+     * Used to record which files each test touches for impact-based test selection.
+     * @return Names of requested files since the last call
+     */
+    public Set<String> drainRequestedAssets() {
+        Set<String> drained = new TreeSet<>(requestedAssets);
+        requestedAssets.removeAll(drained);
+        return drained;
+    }
+    
+    /**
+     * Get full URL of an application page on this server
+     * @param page Page or asset name, e.g. index.html
+     * @return http URL for the page
+     */
+    public String getUrl(String page) {
+        return "http://" + HOST + ":" + getPort() + "/" + page;
+    }
+    
+    /**
+     * Get port this server listens on
+     * @return Port number
+     */
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+    
+    /**
+     * Stop this server
+     */
+    public void stop() {
+        httpServer.stop(0);
+        executor.shutdownNow();
+        logger.debug("App server on port {} stopped", getPort());
+    }
+    
+    /**
+     * Load application files into memory (once per JVM)
+     */
+    private static synchronized void loadAssets() {
+        if (!assets.isEmpty()) {
+            return;
+        }
+        
+        Path appRoot = Paths.get(ConfigManager.getAppRoot()).toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.list(appRoot)) {
+            files.filter(file -> contentTypeOf(file.getFileName().toString()) != null)
+                    .forEach(AppServer::loadAsset);
+        } catch (IOException e) {
+            logger.error("Failed to read app files from {}: {}", appRoot, e.getMessage());
+            throw new RuntimeException("Failed to load app files from " + appRoot, e);
+        }
+        
+        if (assets.isEmpty()) {
+            throw new RuntimeException("No app files found in " + appRoot);
+        }
+        logger.info("Loaded {} app files from {}", assets.size(), appRoot);
+    }
+    
+    private static void loadAsset(Path file) {
+        try {
+            String name = file.getFileName().toString();
+            byte[] content = Files.readAllBytes(file);
+            assets.put(name, new Asset(content, contentTypeOf(name), etagOf(content)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read app file " + file, e);
+        }
+    }
+    
+    /**
+     * Serve one request from the in-memory assets
+     * @param exchange HTTP exchange
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            
+            String name = exchange.getRequestURI().getPath().substring(1);
+            Asset asset = assets.get(name.isEmpty() ? "index.html" : name);
+            if (asset == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            requestedAssets.add(name.isEmpty() ? "index.html" : name);
+            
+            // Throttled files are never stored, so every load pays the simulated cost. Everything else
+            // is revalidated (a cheap 304): a browser never skips the request, so impact tracking sees
+            // it and a later @Throttled test on a warm, reused or pooled session is still throttled.
+            ThrottleProfile.Rule rule = throttleProfile.ruleFor(name.isEmpty() ? "index.html" : name);
+            if (rule != null) {
+                WaitUtils.sleep(rule.nextDelayMillis());
+            }
+            
+            exchange.getResponseHeaders().set("Content-Type", asset.contentType);
+            exchange.getResponseHeaders().set("ETag", asset.etag);
+            exchange.getResponseHeaders().set("Cache-Control", rule != null ? "no-store" : "no-cache");
+            
+            if (asset.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            
+            exchange.sendResponseHeaders(200, asset.content.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                if (rule != null && rule.isBandwidthLimited()) {
+                    writeThrottled(body, asset.content, rule.bytesPerSecond);
+                } else {
+                    body.write(asset.content);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Write response body in 50ms slices to stay under a bandwidth cap
+     * @param body Response stream
+     * @param content Bytes to send
+     * @param bytesPerSecond Bandwidth cap
+     */
+    private static void writeThrottled(OutputStream body, byte[] content, long bytesPerSecond) throws IOException {
+        int sliceBytes = (int) Math.max(1, bytesPerSecond / 20);
+        for (int offset = 0; offset < content.length; offset += sliceBytes) {
+            body.write(content, offset, Math.min(sliceBytes, content.length - offset));
+            body.flush();
+            WaitUtils.sleep(50);
+        }
+    }
+    
+    private static String contentTypeOf(String fileName) {
+        if (fileName.endsWith(".html")) {
+            return "text/html; charset=UTF-8";
+        } else if (fileName.endsWith(".js")) {
+            return "application/javascript; charset=UTF-8";
+        } else if (fileName.endsWith(".css")) {
+            return "text/css; charset=UTF-8";
+        }
+        return null;
+    }
+    
+    private static String etagOf(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    // In-memory copy of an app file
+    private static class Asset {
+        final byte[] content;
+        final String contentType;
+        final String etag;
+        
+        Asset(byte[] content, String contentType, String etag) {
+            this.content = content;
+            this.contentType = contentType;
+            this.etag = etag;
+        }
+    }
+}
\ No newline at end of file
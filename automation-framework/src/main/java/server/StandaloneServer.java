@@ -0,0 +1,231 @@
+package server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.ExecutionManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * StandaloneServer - In-process stand-in for a Selenium standalone server on localhost
+ * Speaks the W3C WebDriver protocol like a one-node grid: every new session starts its own
+ * chromedriver, geckodriver or msedgedriver, and the session's commands are forwarded to it.
+ * Lets the remote driver provider run the suite on a single offline machine.
+ */
+public class StandaloneServer {
+    private static final Logger logger = LogManager.getLogger(StandaloneServer.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String HOST = "127.0.0.1";
+    private static final String HUB_PREFIX = "/wd/hub";
+    
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<String, DriverService> sessions = new ConcurrentHashMap<>();
+    
+    private StandaloneServer(int port) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getByName(HOST), port), 0);
+        executor = ExecutionManager.newTaskExecutor("standalone");
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+    }
+    
+    /**
+     * Start a stand-in server
+     * @param port Port to listen on, 0 for any free port
+     * @return Running server
+     */
+    public static StandaloneServer start(int port) {
+        try {
+            StandaloneServer server = new StandaloneServer(port);
+            logger.info("Standalone stand-in listening on {}", server.getUrl());
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start standalone stand-in on port " + port, e);
+        }
+    }
+    
+    /**
+     * Get the URL RemoteWebDriver connects to
+     * @return http://127.0.0.1:&lt;port&gt;
+     */
+    public URL getUrl() {
+        try {
+            return new URL("http://" + HOST + ":" + httpServer.getAddress().getPort());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    /**
+     * Stop the server and every driver process it still runs
+     */
+    public void stop() {
+        httpServer.stop(0);
+        sessions.values().forEach(DriverService::stop);
+        sessions.clear();
+        executor.shutdownNow();
+        logger.info("Standalone stand-in stopped");
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith(HUB_PREFIX)) {
+                path = path.substring(HUB_PREFIX.length());
+            }
+            String method = exchange.getRequestMethod();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            
+            if ("/status".equals(path)) {
+                send(exchange, 200, "{\"value\":{\"ready\":true,\"message\":\"Standalone stand-in ready\"}}");
+            } else if ("/session".equals(path) && "POST".equals(method)) {
+                newSession(exchange, body);
+            } else if (path.startsWith("/session/")) {
+                forward(exchange, method, path, body);
+            } else {
+                sendError(exchange, 404, "unknown command", "No route for " + method + " " + path);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Standalone stand-in request failed: {}", e.getMessage());
+            sendError(exchange, 500, "unknown error", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Start a driver process for the requested browser and create the session on it
+     */
+    private void newSession(HttpExchange exchange, byte[] body) throws IOException {
+        String browserName = requestedBrowser(mapper.readTree(body));
+        DriverService service;
+        try {
+            service = startService(browserName);
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "session not created", e.getMessage());
+            return;
+        }
+        try {
+            HttpResponse<byte[]> response = send(service.getUrl() + "/session", "POST", body);
+            String sessionId = mapper.readTree(response.body()).path("value").path("sessionId").asText(null);
+            if (sessionId != null) {
+                sessions.put(sessionId, service);
+                logger.info("Standalone stand-in started {} session {}", browserName, sessionId);
+            } else {
+                service.stop();
+            }
+            send(exchange, response.statusCode(), response.body());
+        } catch (IOException | RuntimeException e) {
+            service.stop();
+            throw e;
+        }
+    }
+    
+    private void forward(HttpExchange exchange, String method, String path, byte[] body) throws IOException {
+        String sessionId = path.substring("/session/".length()).split("/")[0];
+        DriverService service = sessions.get(sessionId);
+        if (service == null) {
+            sendError(exchange, 404, "invalid session id", "Unknown session " + sessionId);
+            return;
+        }
+        
+        HttpResponse<byte[]> response = send(service.getUrl() + path, method, body);
+        if ("DELETE".equals(method) && path.equals("/session/" + sessionId)) {
+            sessions.remove(sessionId);
+            service.stop();
+        }
+        send(exchange, response.statusCode(), response.body());
+    }
+    
+    private HttpResponse<byte[]> send(String url, String method, byte[] body) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json; charset=utf-8")
+                .method(method, body.length > 0 ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to driver", e);
+        }
+    }
+    
+    /**
+     * Read browserName from W3C capabilities (alwaysMatch, else the first firstMatch entry)
+     */
+    private static String requestedBrowser(JsonNode newSession) {
+        JsonNode capabilities = newSession.path("capabilities");
+        String browserName = capabilities.path("alwaysMatch").path("browserName").asText("");
+        if (browserName.isEmpty()) {
+            browserName = capabilities.path("firstMatch").path(0).path("browserName").asText("chrome");
+        }
+        return browserName.toLowerCase();
+    }
+    
+    private static DriverService startService(String browserName) throws IOException {
+        DriverService service;
+        switch (browserName) {
+            case "chrome":
+                WebDriverManager.chromedriver().setup();
+                service = ChromeDriverService.createDefaultService();
+                break;
+            case "firefox":
+                WebDriverManager.firefoxdriver().setup();
+                service = GeckoDriverService.createDefaultService();
+                break;
+            case "msedge":
+            case "microsoftedge":
+                WebDriverManager.edgedriver().setup();
+                service = EdgeDriverService.createDefaultService();
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser: " + browserName);
+        }
+        service.start();
+        return service;
+    }
+    
+    private static void sendError(HttpExchange exchange, int status, String error, String message) throws IOException {
+        ObjectNode value = mapper.createObjectNode();
+        value.putObject("value").put("error", error).put("message", message).put("stacktrace", "");
+        send(exchange, status, mapper.writeValueAsBytes(value));
+    }
+    
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
\ No newline at end of file
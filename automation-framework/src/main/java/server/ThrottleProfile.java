@@ -0,0 +1,131 @@
+package server;
+
+import config.ConfigManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ThrottleProfile - Latency, jitter and bandwidth rules for app server resources
+ * Profiles are defined in config.properties as
+ * throttle.&lt;profile&gt;.&lt;resource&gt;=latencyMs,jitterMs,kbPerSecond
+ * where resource is a file name such as app.js, or * for all other files.
+ */
+public class ThrottleProfile {
+    public static final String NONE_NAME = "none";
+    public static final ThrottleProfile NONE = new ThrottleProfile(NONE_NAME, Collections.emptyMap());
+    
+    private static final String PREFIX = "throttle.";
+    private static final String WILDCARD = "*";
+    private static final Map<String, ThrottleProfile> profiles = new ConcurrentHashMap<>();
+    
+    private final String name;
+    private final Map<String, Rule> rules;
+    
+    private ThrottleProfile(String name, Map<String, Rule> rules) {
+        this.name = name;
+        this.rules = rules;
+    }
+    
+    /**
+     * Get profile by name from configuration
+     * @param name Profile name, or "none" for no throttling
+     * @return ThrottleProfile
+     */
+    public static ThrottleProfile named(String name) {
+        if (name == null || name.trim().isEmpty() || NONE_NAME.equalsIgnoreCase(name.trim())) {
+            return NONE;
+        }
+        return profiles.computeIfAbsent(name.trim(), ThrottleProfile::load);
+    }
+    
+    /**
+     * Forget the parsed profiles, so the next lookup reads the current throttle.* rules
+     */
+    static void clearCache() {
+        profiles.clear();
+    }
+    
+    private static ThrottleProfile load(String name) {
+        Map<String, Rule> rules = new HashMap<>();
+        ConfigManager.getPropertiesWithPrefix(PREFIX + name + ".")
+                .forEach((resource, value) -> rules.put(resource, Rule.parse(name, resource, value)));
+        
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Unknown throttle profile: " + name);
+        }
+        return new ThrottleProfile(name, rules);
+    }
+    
+    /**
+     * Get rule for a resource, falling back to the wildcard rule
+     * @param resource File name, e.g. app.js
+     * @return Rule, or null if the resource is not throttled
+     */
+    public Rule ruleFor(String resource) {
+        Rule rule = rules.get(resource);
+        return rule != null ? rule : rules.get(WILDCARD);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public String toString() {
+        return name + rules;
+    }
+    
+    /**
+     * Rule - Throttling applied to one resource
+     */
+    public static class Rule {
+        final long latencyMs;
+        final long jitterMs;
+        final long bytesPerSecond;
+        
+        Rule(long latencyMs, long jitterMs, long bytesPerSecond) {
+            this.latencyMs = latencyMs;
+            this.jitterMs = jitterMs;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+        
+        static Rule parse(String profile, String resource, String value) {
+            String[] parts = value.split(",");
+            try {
+                return new Rule(
+                        Long.parseLong(parts[0].trim()),
+                        parts.length > 1 ? Long.parseLong(parts[1].trim()) : 0,
+                        parts.length > 2 ? Long.parseLong(parts[2].trim()) * 1024 : 0);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "Invalid throttle rule " + PREFIX + profile + "." + resource + "=" + value, e);
+            }
+        }
+        
+        /**
+         * Get delay before the response starts: latency plus random jitter
+         * @return Delay in milliseconds
+         */
+        public long nextDelayMillis() {
+            long jitter = jitterMs > 0 ? ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1) : 0;
+            return Math.max(0, latencyMs + jitter);
+        }
+        
+        /**
+         * Check if the response body should be bandwidth-limited
+         * @return true if a bandwidth cap is set
+         */
+        public boolean isBandwidthLimited() {
+            return bytesPerSecond > 0;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d+/-%dms@%dB/s", latencyMs, jitterMs, bytesPerSecond);
+        }
+    }
+}
\ No newline at end of file
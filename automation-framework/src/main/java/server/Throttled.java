@@ -0,0 +1,21 @@
+package server;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Throttled - Selects the app server throttle profile for a test method or class
+ * Overrides the throttle.profile property for the annotated tests.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Throttled {
+    
+    /**
+     * Name of a throttle profile defined in config.properties
+     * @return Profile name
+     */
+    String value();
+}
\ No newline at end of file
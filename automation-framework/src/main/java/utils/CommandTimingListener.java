@@ -0,0 +1,38 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * CommandTimingListener - Records every WebDriver call as a COMMAND timing span
+ * Attached by DriverManager through Selenium's EventFiringDecorator. Each finished
+ * command is also sent to the event log when events.commands is on.
+ */
+public class CommandTimingListener implements WebDriverListener {
+    private final boolean logEvents = ConfigManager.isEventLogCommandsEnabled();
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Timings.start(Timings.Kind.COMMAND, method.getName());
+    }
+    
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        endCommand();
+    }
+    
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        endCommand();
+    }
+    
+    private void endCommand() {
+        Timings.Span span = Timings.end(Timings.Kind.COMMAND);
+        if (logEvents && span != null) {
+            EventLog.command(span.getName(), span.getDurationNanos());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package utils;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.LogInspector;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * ConsoleEvents - Stream of the page's console messages and uncaught JS errors
+ * Chromium sessions subscribe over CDP (Runtime.consoleAPICalled / exceptionThrown), Firefox
+ * over WebDriver BiDi (log.entryAdded). Messages are pushed by the browser, so waits can
+ * complete on an app log line such as "Calculation logged:" instead of polling the DOM.
+ * Each thread's session has its own stream; use mark() before an action and wait for
+ * messages logged after the mark.
+ */
+public class ConsoleEvents {
+    private static final Logger logger = LogManager.getLogger(ConsoleEvents.class);
+    private static final ThreadLocal<ConsoleEvents> streams = new ThreadLocal<>();
+    private static final int MAX_ENTRIES = 10_000;
+    private static final String EXCEPTION = "exception";
+    
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private long dropped;
+    private boolean closed;
+    private AutoCloseable inspector;
+    private DevTools devTools;
+    
+    /**
+     * Subscribe to console events of a new driver of this thread (called by DriverManager before decorating it)
+     * Does nothing when console.events is off or the browser offers neither CDP nor BiDi.
+     * @param driver Undecorated driver
+     */
+    public static void attach(WebDriver driver) {
+        if (!ConfigManager.isConsoleEventsEnabled()) {
+            return;
+        }
+        ConsoleEvents stream = new ConsoleEvents();
+        try {
+            // A BiDi session exists only when the driver was started with webSocketUrl (Firefox)
+            Object webSocketUrl = driver instanceof HasCapabilities
+                    ? ((HasCapabilities) driver).getCapabilities().getCapability("webSocketUrl") : null;
+            if (driver instanceof HasBiDi && webSocketUrl instanceof String) {
+                stream.subscribeBiDi(driver);
+            } else if (driver instanceof HasDevTools) {
+                stream.subscribeCdp(((HasDevTools) driver).getDevTools());
+            } else {
+                logger.info("Console events unavailable for {}", driver.getClass().getSimpleName());
+                return;
+            }
+            streams.set(stream);
+        } catch (RuntimeException e) {
+            logger.warn("Could not subscribe to console events, waits fall back to polling: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Stop this thread's stream (called by DriverManager before quitting or releasing the driver)
+     * Unsubscribes from the browser, so a pooled or adopted session does not feed old streams.
+     */
+    public static void detach() {
+        ConsoleEvents stream = streams.get();
+        if (stream != null) {
+            streams.remove();
+            stream.close();
+            if (stream.inspector != null) {
+                try {
+                    stream.inspector.close();
+                } catch (Exception e) {
+                    logger.debug("Error closing BiDi log inspector: {}", e.getMessage());
+                }
+            }
+            if (stream.devTools != null) {
+                try {
+                    stream.devTools.clearListeners();
+                } catch (RuntimeException e) {
+                    logger.debug("Error removing console listeners: {}", e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get the console stream of this thread's session
+     * @return Stream, or null if console events are not available
+     */
+    public static ConsoleEvents current() {
+        return streams.get();
+    }
+    
+    private void subscribeCdp(DevTools devTools) {
+        this.devTools = devTools;
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<>("Runtime.enable", Map.of()));
+        devTools.addListener(new Event<>("Runtime.consoleAPICalled", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+                event -> add((String) event.get("type"), argumentsText((List<?>) event.get("args"))));
+        devTools.addListener(new Event<>("Runtime.exceptionThrown", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+                event -> {
+                    Map<?, ?> details = (Map<?, ?>) event.get("exceptionDetails");
+                    Object exception = details.get("exception");
+                    Object description = exception instanceof Map ? ((Map<?, ?>) exception).get("description") : null;
+                    add(EXCEPTION, description != null ? description.toString() : String.valueOf(details.get("text")));
+                });
+    }
+    
+    private void subscribeBiDi(WebDriver driver) {
+        LogInspector logInspector = new LogInspector(driver);
+        logInspector.onConsoleEntry(entry -> add(entry.getMethod(), entry.getText()));
+        logInspector.onJavaScriptException(entry -> add(EXCEPTION, entry.getText()));
+        inspector = logInspector;
+    }
+    
+    /**
+     * Join console arguments the way the browser console prints them
+     */
+    private static String argumentsText(List<?> args) {
+        if (args == null) {
+            return "";
+        }
+        return args.stream().map(arg -> {
+            Map<?, ?> remoteObject = (Map<?, ?>) arg;
+            Object value = remoteObject.containsKey("value") ? remoteObject.get("value") : remoteObject.get("description");
+            return String.valueOf(value);
+        }).collect(Collectors.joining(" "));
+    }
+    
+    /**
+     * End the stream: later messages are dropped and waiters return at once
+     * Called on detach and when the session behind the stream is found dead.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+    
+    /**
+     * Check if the stream has ended, so a missing message says nothing about the page
+     * @return true once closed
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+    
+    private synchronized void add(String level, String text) {
+        if (closed) {
+            return;
+        }
+        entries.addLast(new Entry(level, text));
+        if (entries.size() > MAX_ENTRIES) {
+            entries.removeFirst();
+            dropped++;
+        }
+        notifyAll();
+    }
+    
+    /**
+     * Get the position after the newest message, for waiting on messages logged later
+     * @return Mark to pass to await
+     */
+    public synchronized long mark() {
+        return dropped + entries.size();
+    }
+    
+    /**
+     * Wait for a message logged after a mark whose text starts with a prefix
+     * @param prefix Start of the message, e.g. "Calculation logged:"
+     * @param mark Value of mark() taken before the action
+     * @param timeout Maximum wait
+     * @return First matching entry, or null on timeout or when the stream is closed
+     */
+    public Entry await(String prefix, long mark, Duration timeout) {
+        return await(entry -> entry.getText().startsWith(prefix), mark, timeout);
+    }
+    
+    /**
+     * Wait for a message logged after a mark that matches a condition
+     * @param condition Entry condition
+     * @param mark Value of mark() taken before the action
+     * @param timeout Maximum wait
+     * @return First matching entry, or null on timeout or when the stream is closed
+     */
+    public synchronized Entry await(Predicate<Entry> condition, long mark, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long checked = Math.max(mark, dropped);
+        while (true) {
+            long index = dropped;
+            for (Entry entry : entries) {
+                if (index++ >= checked && condition.test(entry)) {
+                    return entry;
+                }
+            }
+            checked = dropped + entries.size();
+            
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0 || closed) {
+                return null;
+            }
+            try {
+                wait(remainingNanos / 1_000_000, (int) (remainingNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Get uncaught JS errors and console.error messages logged after a mark
+     * @param mark Value of mark(), 0 for all kept messages
+     * @return Error entries
+     */
+    public synchronized List<Entry> getErrors(long mark) {
+        List<Entry> errors = new ArrayList<>();
+        long index = dropped;
+        for (Entry entry : entries) {
+            if (index++ >= mark && (EXCEPTION.equals(entry.level) || "error".equals(entry.level))) {
+                errors.add(entry);
+            }
+        }
+        return errors;
+    }
+    
+    /**
+     * Entry - One console message
+     */
+    public static class Entry {
+        private final long timestampMillis = System.currentTimeMillis();
+        private final String level;
+        private final String text;
+        
+        Entry(String level, String text) {
+            this.level = level;
+            this.text = text != null ? text : "";
+        }
+        
+        /**
+         * Get console method or kind
+         * @return log, info, warn, error, debug, ... or exception for uncaught errors
+         */
+        public String getLevel() {
+            return level;
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+        
+        @Override
+        public String toString() {
+            return level + ": " + text;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter - Monotonic count of events, registered in Metrics
+ */
+public class Counter {
+    private final String name;
+    private final String labels;
+    private final AtomicLong count = new AtomicLong();
+    
+    Counter(String name, String labels) {
+        this.name = name;
+        this.labels = labels;
+    }
+    
+    public void increment() {
+        count.incrementAndGet();
+    }
+    
+    public long getCount() {
+        return count.get();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getLabels() {
+        return labels;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,370 @@
+package utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * DevToolsRecorder - Browser-side profiling of Chromium sessions over the DevTools Protocol
+ * Opt-in with devtools.enabled. Per test it records network timing of every request,
+ * long main-thread tasks (total blocking time), main-thread time from Performance metrics,
+ * and CPU profiles of the submit (findLongestSubstring and logCalculation). Everything is
+ * written to test-output/devtools/ when the test finishes. Raw CDP commands are used, so
+ * the recorder does not depend on a browser-specific devtools package version.
+ */
+public class DevToolsRecorder {
+    private static final Logger logger = LogManager.getLogger(DevToolsRecorder.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ThreadLocal<DevToolsRecorder> recorders = new ThreadLocal<>();
+    
+    private static final String LONG_TASK_BINDING = "__agrichainLongTask";
+    private static final String LONG_TASK_SCRIPT = "new PerformanceObserver(function (list) {"
+            + " list.getEntries().forEach(function (task) { window." + LONG_TASK_BINDING + "(JSON.stringify({"
+            + " page: location.pathname, startMillis: task.startTime, durationMillis: task.duration })); });"
+            + " }).observe({ entryTypes: ['longtask'] });";
+    private static final long LONG_TASK_THRESHOLD_MILLIS = 50;
+    private static final List<String> MAIN_THREAD_METRICS = List.of("TaskDuration", "ScriptDuration",
+            "LayoutDuration", "RecalcStyleDuration");
+    private static final List<String> PROFILED_FUNCTIONS = List.of("findLongestSubstring", "logCalculation");
+    
+    private final DevTools devTools;
+    private final Map<String, Map<String, Object>> requests = new ConcurrentHashMap<>();
+    private final List<Map<String, Object>> longTasks = Collections.synchronizedList(new ArrayList<>());
+    private final List<Map<String, Object>> profiles = new ArrayList<>();
+    private Map<String, Double> metricsAtStart = Map.of();
+    private long profileStartNanos;
+    
+    private DevToolsRecorder(DevTools devTools) {
+        this.devTools = devTools;
+    }
+    
+    /**
+     * Attach a recorder to a new driver of this thread (called by DriverManager before decorating it)
+     * Does nothing unless devtools.enabled is set and the browser speaks CDP (Chrome, Edge).
+     * @param driver Undecorated driver
+     */
+    public static void attach(WebDriver driver) {
+        if (!ConfigManager.isDevToolsEnabled()) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools)) {
+            logger.info("DevTools recording skipped, {} has no CDP support", driver.getClass().getSimpleName());
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            DevToolsRecorder recorder = new DevToolsRecorder(devTools);
+            recorder.enable();
+            recorders.set(recorder);
+            logger.debug("DevTools recording attached");
+        } catch (RuntimeException e) {
+            logger.warn("Could not open a DevTools session, recording disabled: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Get the DevTools connection of this thread's session
+     * @return DevTools, or null when no recorder is attached
+     */
+    public static DevTools getDevTools() {
+        DevToolsRecorder recorder = recorders.get();
+        return recorder != null ? recorder.devTools : null;
+    }
+    
+    /**
+     * Close this thread's DevTools session (called by DriverManager before quitting the driver)
+     */
+    public static void detach() {
+        DevToolsRecorder recorder = recorders.get();
+        if (recorder != null) {
+            recorders.remove();
+            try {
+                recorder.devTools.close();
+            } catch (RuntimeException e) {
+                logger.debug("Error closing DevTools session: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Start recording a test: drop anything recorded so far and take baseline metrics
+     */
+    public static void startTest() {
+        DevToolsRecorder recorder = recorders.get();
+        if (recorder != null) {
+            recorder.requests.clear();
+            recorder.longTasks.clear();
+            recorder.profiles.clear();
+            recorder.metricsAtStart = recorder.getMetrics();
+        }
+    }
+    
+    /**
+     * Start a CPU profile, e.g. right before a submit
+     */
+    public static void startCpuProfile() {
+        DevToolsRecorder recorder = recorders.get();
+        if (recorder != null) {
+            recorder.send("Profiler.start", Map.of());
+            recorder.profileStartNanos = System.nanoTime();
+        }
+    }
+    
+    /**
+     * Stop the CPU profile started by startCpuProfile and keep it for the test's artifacts
+     * @param label Name of the profiled action, e.g. submit
+     */
+    public static void stopCpuProfile(String label) {
+        DevToolsRecorder recorder = recorders.get();
+        if (recorder == null || recorder.profileStartNanos == 0) {
+            return;
+        }
+        try {
+            Map<String, Object> result = recorder.devTools.send(new Command<>("Profiler.stop", Map.of(), Json.MAP_TYPE));
+            Map<String, Object> profile = new LinkedHashMap<>();
+            profile.put("label", label);
+            profile.put("durationMillis", (System.nanoTime() - recorder.profileStartNanos) / 1_000_000);
+            profile.put("profile", result.get("profile"));
+            recorder.profiles.add(profile);
+        } catch (RuntimeException e) {
+            logger.warn("Could not stop CPU profile {}: {}", label, e.getMessage());
+        } finally {
+            recorder.profileStartNanos = 0;
+        }
+    }
+    
+    /**
+     * Write this test's recordings to the devtools output folder
+     * Writes &lt;test&gt;-&lt;timestamp&gt;-devtools.json with network timing, long tasks, main-thread
+     * time and per-function profile times, plus one .cpuprofile per profile (opens in Chrome DevTools).
+     * @param testId Test ID used in file names
+     * @return Written files, empty if nothing was recorded
+     */
+    public static List<Path> finishTest(String testId) {
+        DevToolsRecorder recorder = recorders.get();
+        return recorder != null ? recorder.export(testId) : List.of();
+    }
+    
+    private void enable() {
+        send("Network.enable", Map.of());
+        send("Performance.enable", Map.of());
+        send("Runtime.enable", Map.of());
+        send("Page.enable", Map.of());
+        send("Profiler.enable", Map.of());
+        send("Profiler.setSamplingInterval", Map.of("interval", ConfigManager.getDevToolsSamplingMicros()));
+        send("Runtime.addBinding", Map.of("name", LONG_TASK_BINDING));
+        send("Page.addScriptToEvaluateOnNewDocument", Map.of("source", LONG_TASK_SCRIPT));
+        
+        listen("Network.requestWillBeSent", event -> {
+            Map<String, Object> request = requests.computeIfAbsent((String) event.get("requestId"),
+                    id -> new ConcurrentHashMap<>());
+            request.put("url", ((Map<?, ?>) event.get("request")).get("url"));
+            request.put("startSeconds", event.get("timestamp"));
+        });
+        listen("Network.responseReceived", event -> {
+            Map<?, ?> response = (Map<?, ?>) event.get("response");
+            Map<String, Object> request = requests.computeIfAbsent((String) event.get("requestId"),
+                    id -> new ConcurrentHashMap<>());
+            request.put("status", response.get("status"));
+            request.put("mimeType", response.get("mimeType"));
+            request.put("fromCache", Boolean.TRUE.equals(response.get("fromDiskCache"))
+                    || Boolean.TRUE.equals(response.get("fromMemoryCache")));
+            Object timing = response.get("timing");
+            if (timing instanceof Map) {
+                Map<?, ?> phases = (Map<?, ?>) timing;
+                request.put("waitMillis", number(phases.get("receiveHeadersEnd")) - number(phases.get("sendEnd")));
+            }
+        });
+        listen("Network.loadingFinished", event -> {
+            Map<String, Object> request = requests.get((String) event.get("requestId"));
+            if (request != null) {
+                request.put("endSeconds", event.get("timestamp"));
+                request.put("bytes", event.get("encodedDataLength"));
+            }
+        });
+        listen("Network.loadingFailed", event -> {
+            Map<String, Object> request = requests.get((String) event.get("requestId"));
+            if (request != null) {
+                request.put("endSeconds", event.get("timestamp"));
+                request.put("error", event.get("errorText"));
+            }
+        });
+        listen("Runtime.bindingCalled", event -> {
+            if (LONG_TASK_BINDING.equals(event.get("name"))) {
+                try {
+                    longTasks.add(mapper.readValue((String) event.get("payload"),
+                            new TypeReference<Map<String, Object>>() { }));
+                } catch (IOException e) {
+                    logger.debug("Unreadable long task report: {}", e.getMessage());
+                }
+            }
+        });
+    }
+    
+    private void send(String method, Map<String, Object> params) {
+        devTools.send(new Command<>(method, params));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void listen(String method, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<>(method, input -> (Map<String, Object>) input.read(Json.MAP_TYPE)), handler);
+    }
+    
+    private Map<String, Double> getMetrics() {
+        Map<String, Double> values = new HashMap<>();
+        try {
+            Map<String, Object> result = devTools.send(new Command<>("Performance.getMetrics", Map.of(), Json.MAP_TYPE));
+            for (Object metric : (List<?>) result.get("metrics")) {
+                Map<?, ?> entry = (Map<?, ?>) metric;
+                values.put((String) entry.get("name"), number(entry.get("value")));
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not read performance metrics: {}", e.getMessage());
+        }
+        return values;
+    }
+    
+    private List<Path> export(String testId) {
+        Path outputDir = Paths.get(ConfigManager.getDevToolsOutputPath());
+        String baseName = testId.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + System.currentTimeMillis();
+        List<Path> files = new ArrayList<>();
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("test", testId);
+        summary.put("network", networkEntries());
+        
+        List<Map<String, Object>> tasks;
+        synchronized (longTasks) {
+            tasks = new ArrayList<>(longTasks);
+        }
+        summary.put("longTasks", tasks);
+        summary.put("totalBlockingTimeMillis", tasks.stream()
+                .mapToDouble(task -> Math.max(0, number(task.get("durationMillis")) - LONG_TASK_THRESHOLD_MILLIS))
+                .sum());
+        
+        // Performance metrics are cumulative seconds per renderer; report this test's share in milliseconds
+        Map<String, Double> metricsAtEnd = getMetrics();
+        Map<String, Long> mainThread = new LinkedHashMap<>();
+        MAIN_THREAD_METRICS.forEach(metric -> mainThread.put(metric, Math.round(
+                (metricsAtEnd.getOrDefault(metric, 0.0) - metricsAtStart.getOrDefault(metric, 0.0)) * 1000)));
+        summary.put("mainThreadMillis", mainThread);
+        
+        try {
+            Files.createDirectories(outputDir);
+            List<Map<String, Object>> profileSummaries = new ArrayList<>();
+            for (int index = 0; index < profiles.size(); index++) {
+                Map<String, Object> profile = profiles.get(index);
+                Path profileFile = outputDir.resolve(baseName + "-" + profile.get("label") + "-" + (index + 1)
+                        + ".cpuprofile");
+                mapper.writeValue(profileFile.toFile(), profile.get("profile"));
+                files.add(profileFile);
+                
+                Map<String, Object> profileSummary = new LinkedHashMap<>();
+                profileSummary.put("label", profile.get("label"));
+                profileSummary.put("file", profileFile.getFileName().toString());
+                profileSummary.put("durationMillis", profile.get("durationMillis"));
+                profileSummary.put("selfMillis", selfTimes(profile.get("profile")));
+                profileSummaries.add(profileSummary);
+            }
+            summary.put("cpuProfiles", profileSummaries);
+            
+            Path summaryFile = outputDir.resolve(baseName + "-devtools.json");
+            mapper.writerWithDefaultPrettyPrinter().writeValue(summaryFile.toFile(), summary);
+            files.add(summaryFile);
+            logger.debug("DevTools recordings for {} written to {}", testId, summaryFile);
+        } catch (IOException e) {
+            logger.warn("Could not write DevTools recordings for {}: {}", testId, e.getMessage());
+        }
+        return files;
+    }
+    
+    /**
+     * Network entries ordered by start, with times in milliseconds from the first request
+     */
+    private List<Map<String, Object>> networkEntries() {
+        List<Map<String, Object>> entries = requests.values().stream()
+                .filter(request -> request.containsKey("startSeconds"))
+                .sorted((a, b) -> Double.compare(number(a.get("startSeconds")), number(b.get("startSeconds"))))
+                .collect(Collectors.toList());
+        double origin = entries.isEmpty() ? 0 : number(entries.get(0).get("startSeconds"));
+        
+        List<Map<String, Object>> network = new ArrayList<>();
+        for (Map<String, Object> request : entries) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("url", request.get("url"));
+            entry.put("status", request.get("status"));
+            entry.put("mimeType", request.get("mimeType"));
+            entry.put("fromCache", request.get("fromCache"));
+            entry.put("startMillis", Math.round((number(request.get("startSeconds")) - origin) * 1000));
+            if (request.containsKey("endSeconds")) {
+                entry.put("totalMillis", Math.round((number(request.get("endSeconds"))
+                        - number(request.get("startSeconds"))) * 1000));
+            }
+            entry.put("waitMillis", request.get("waitMillis"));
+            entry.put("bytes", request.get("bytes"));
+            entry.put("error", request.get("error"));
+            entry.values().removeIf(value -> value == null);
+            network.add(entry);
+        }
+        return network;
+    }
+    
+    /**
+     * Self time per function of interest from the sampled profile (sum of sample time deltas per node)
+     */
+    private static Map<String, Double> selfTimes(Object profile) {
+        Map<String, Double> selfMillis = new LinkedHashMap<>();
+        PROFILED_FUNCTIONS.forEach(function -> selfMillis.put(function, 0.0));
+        if (!(profile instanceof Map)) {
+            return selfMillis;
+        }
+        
+        Map<?, ?> cpuProfile = (Map<?, ?>) profile;
+        Map<Long, String> functionByNode = new HashMap<>();
+        for (Object node : (List<?>) cpuProfile.get("nodes")) {
+            Map<?, ?> callFrame = (Map<?, ?>) ((Map<?, ?>) node).get("callFrame");
+            functionByNode.put((long) number(((Map<?, ?>) node).get("id")), (String) callFrame.get("functionName"));
+        }
+        List<?> samples = (List<?>) cpuProfile.get("samples");
+        List<?> timeDeltas = (List<?>) cpuProfile.get("timeDeltas");
+        if (samples == null || timeDeltas == null) {
+            return selfMillis;
+        }
+        
+        // timeDeltas[i] is the time before sample i, so it belongs to the previous sample's node
+        for (int i = 1; i < samples.size() && i < timeDeltas.size(); i++) {
+            String function = functionByNode.get((long) number(samples.get(i - 1)));
+            if (selfMillis.containsKey(function)) {
+                selfMillis.merge(function, number(timeDeltas.get(i)) / 1000, Double::sum);
+            }
+        }
+        return selfMillis;
+    }
+    
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,328 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import config.ConfigManager;
+import config.DriverManager;
+import config.EmulationProfile;
+import config.ExecutionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventLog - Structured test event stream, one compact JSON line per event
+ * Test threads only enqueue small event objects; a dedicated writer thread serialises
+ * them through a direct buffer into a FileChannel on events.jsonl, rolling the file to
+ * events.1.jsonl, events.2.jsonl, ... when it reaches events.max.file.mb. A full queue
+ * drops events (counted in event_log_dropped_total) rather than blocking a test.
+ */
+public class EventLog {
+    private static final Logger logger = LogManager.getLogger(EventLog.class);
+    private static final String FILE_NAME = "events";
+    private static final int BUFFER_BYTES = 64 * 1024;
+    
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final Event CLOSE = new Event(null, null, 0, 0, 0, null, null);
+    private static final Counter DROPPED_EVENTS = Metrics.counter("event_log_dropped_total");
+    private static volatile BlockingQueue<Event> queue;
+    // Set when the log is disabled, could not be opened or was closed; events are dropped from then on
+    private static volatile boolean stopped;
+    private static Thread writerThread;
+    
+    /**
+     * Event types
+     */
+    public enum Type {
+        TEST, PHASE, STEP, STEP_DONE, COMMAND, TIMING, OUTCOME
+    }
+    
+    /**
+     * A test started on this thread; later events of the thread carry its ID
+     * @param testId Test ID, e.g. ATC_E2E_001
+     * @param testName Test name
+     */
+    public static void testStarted(String testId, String testName) {
+        currentTest.set(testId);
+        emit(Type.TEST, testName, 0, 0, 0, null, null);
+    }
+    
+    public static void phase(String phase, String description) {
+        emit(Type.PHASE, phase, 0, 0, 0, null, description);
+    }
+    
+    public static void step(int step, int totalSteps, String description) {
+        emit(Type.STEP, description, step, totalSteps, 0, null, null);
+    }
+    
+    public static void stepDone(int step, int totalSteps, String message, long durationNanos) {
+        emit(Type.STEP_DONE, message, step, totalSteps, durationNanos, null, null);
+    }
+    
+    public static void command(String command, long durationNanos) {
+        emit(Type.COMMAND, command, 0, 0, durationNanos, null, null);
+    }
+    
+    /**
+     * Total duration of the test on this thread
+     * @param durationNanos Test duration
+     */
+    public static void timing(long durationNanos) {
+        emit(Type.TIMING, currentTest.get(), 0, 0, durationNanos, null, null);
+    }
+    
+    /**
+     * Outcome of the test on this thread
+     * @param testName Test name
+     * @param passed Test result
+     * @param completedSteps Steps done
+     * @param totalSteps Steps planned
+     * @param detail Test data, or null
+     */
+    public static void outcome(String testName, boolean passed, int completedSteps, int totalSteps, String detail) {
+        emit(Type.OUTCOME, testName, completedSteps, totalSteps, 0, passed ? "passed" : "failed", detail);
+    }
+    
+    private static void emit(Type type, String name, int step, int totalSteps, long durationNanos, String outcome,
+            String detail) {
+        if (stopped) {
+            return;
+        }
+        BlockingQueue<Event> events = queue != null ? queue : start();
+        if (events == null) {
+            return;
+        }
+        Event event = new Event(type, name, step, totalSteps, durationNanos, outcome, detail);
+        if (!events.offer(event)) {
+            DROPPED_EVENTS.increment();
+        }
+    }
+    
+    /**
+     * Start the writer thread on first use
+     * @return Event queue, or null if the event log is disabled or closed
+     */
+    private static synchronized BlockingQueue<Event> start() {
+        if (queue != null || stopped) {
+            return queue;
+        }
+        if (!ConfigManager.isEventLogEnabled()) {
+            stopped = true;
+            return null;
+        }
+        
+        Writer writer;
+        try {
+            writer = new Writer(Paths.get(ConfigManager.getEventLogOutputPath()),
+                    ConfigManager.getEventLogMaxFileMb() * 1024L * 1024L, ConfigManager.getEventLogMaxFiles());
+        } catch (IOException e) {
+            logger.warn("Event log disabled, could not open it: {}", e.getMessage());
+            stopped = true;
+            return null;
+        }
+        
+        BlockingQueue<Event> events = new ArrayBlockingQueue<>(ConfigManager.getEventLogQueueSize());
+        writerThread = ExecutionManager.newThreadFactory("event-log").newThread(() -> writer.run(events));
+        writerThread.start();
+        queue = events;
+        Runtime.getRuntime().addShutdownHook(new Thread(EventLog::close));
+        return events;
+    }
+    
+    /**
+     * Write out queued events and close the file (called once at suite end)
+     * Events emitted afterwards are dropped instead of opening the log again.
+     */
+    public static synchronized void close() {
+        stopped = true;
+        BlockingQueue<Event> events = queue;
+        if (events == null) {
+            return;
+        }
+        queue = null;
+        try {
+            events.put(CLOSE);
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Event - One queued event; serialised on the writer thread only
+     */
+    private static class Event {
+        private final long epochMillis = System.currentTimeMillis();
+        private final String thread = Thread.currentThread().getName();
+        private final String testId = currentTest.get();
+        private final String browser = DriverManager.getCurrentBrowser();
+        private final String emulation = DriverManager.getEmulationProfile();
+        private final Type type;
+        private final String name;
+        private final int step;
+        private final int totalSteps;
+        private final long durationNanos;
+        private final String outcome;
+        private final String detail;
+        
+        Event(Type type, String name, int step, int totalSteps, long durationNanos, String outcome, String detail) {
+            this.type = type;
+            this.name = name;
+            this.step = step;
+            this.totalSteps = totalSteps;
+            this.durationNanos = durationNanos;
+            this.outcome = outcome;
+            this.detail = detail;
+        }
+        
+        void writeTo(JsonGenerator json) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("ts", epochMillis);
+            json.writeStringField("type", type.name().toLowerCase());
+            json.writeStringField("thread", thread);
+            json.writeStringField("browser", browser);
+            if (!EmulationProfile.NONE_NAME.equals(emulation)) {
+                json.writeStringField("emulation", emulation);
+            }
+            if (type == Type.TEST) {
+                json.writeStringField("environment", ConfigManager.getEnvironment());
+            }
+            if (testId != null) {
+                json.writeStringField("test", testId);
+            }
+            if (name != null) {
+                json.writeStringField("name", name);
+            }
+            if (step > 0) {
+                json.writeNumberField("step", step);
+                json.writeNumberField("steps", totalSteps);
+            }
+            if (durationNanos > 0) {
+                json.writeNumberField("durationMicros", durationNanos / 1000);
+            }
+            if (outcome != null) {
+                json.writeStringField("outcome", outcome);
+            }
+            if (detail != null) {
+                json.writeStringField("detail", detail);
+            }
+            json.writeEndObject();
+        }
+    }
+    
+    /**
+     * Writer - Drains the queue into a rolling file through a direct buffer
+     */
+    private static class Writer {
+        private final Path outputDir;
+        private final Path currentFile;
+        private final long maxFileBytes;
+        private final int maxFiles;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+        private final JsonGenerator json;
+        private FileChannel channel;
+        private long fileBytes;
+        
+        Writer(Path outputDir, long maxFileBytes, int maxFiles) throws IOException {
+            this.outputDir = outputDir;
+            this.currentFile = outputDir.resolve(FILE_NAME + ".jsonl");
+            this.maxFileBytes = maxFileBytes;
+            this.maxFiles = maxFiles;
+            this.json = new JsonFactory().createGenerator(line, JsonEncoding.UTF8);
+            this.json.setRootValueSeparator(null);
+            Files.createDirectories(outputDir);
+            open();
+        }
+        
+        void run(BlockingQueue<Event> events) {
+            try {
+                while (true) {
+                    Event event = events.take();
+                    // Write everything already queued, then push the batch to the file
+                    do {
+                        if (event == CLOSE) {
+                            flush();
+                            channel.close();
+                            return;
+                        }
+                        write(event);
+                        event = events.poll();
+                    } while (event != null);
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.warn("Event log stopped: {}", e.getMessage());
+            }
+        }
+        
+        private void write(Event event) throws IOException {
+            line.reset();
+            event.writeTo(json);
+            json.flush();
+            line.write('\n');
+            
+            byte[] bytes = line.toByteArray();
+            if (fileBytes + buffer.position() + bytes.length > maxFileBytes && fileBytes + buffer.position() > 0) {
+                flush();
+                roll();
+            }
+            if (bytes.length > buffer.remaining()) {
+                flush();
+            }
+            if (bytes.length > buffer.capacity()) {
+                fileBytes += channel.write(ByteBuffer.wrap(bytes));
+            } else {
+                buffer.put(bytes);
+            }
+        }
+        
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                fileBytes += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        
+        private void open() throws IOException {
+            channel = FileChannel.open(currentFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            fileBytes = channel.size();
+        }
+        
+        /**
+         * Shift events.N.jsonl up by one, dropping the oldest, and start a new events.jsonl
+         */
+        private void roll() throws IOException {
+            channel.close();
+            Files.deleteIfExists(rolledFile(maxFiles));
+            for (int index = maxFiles - 1; index >= 1; index--) {
+                if (Files.exists(rolledFile(index))) {
+                    Files.move(rolledFile(index), rolledFile(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(currentFile, rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+            open();
+        }
+        
+        private Path rolledFile(int index) {
+            return outputDir.resolve(FILE_NAME + "." + index + ".jsonl");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Gauge - Current value that goes up and down, registered in Metrics
+ * Either set directly (increment/decrement/set) or read from a supplier at export time.
+ */
+public class Gauge {
+    private final String name;
+    private final String labels;
+    private final AtomicLong value = new AtomicLong();
+    private final LongSupplier supplier;
+    
+    Gauge(String name, String labels, LongSupplier supplier) {
+        this.name = name;
+        this.labels = labels;
+        this.supplier = supplier;
+    }
+    
+    public void increment() {
+        value.incrementAndGet();
+    }
+    
+    public void decrement() {
+        value.decrementAndGet();
+    }
+    
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+    
+    public long getValue() {
+        return supplier != null ? supplier.getAsLong() : value.get();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getLabels() {
+        return labels;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram - Fixed-precision latency histogram in the HDR layout
+ * Values (microseconds) land in log-linear buckets that keep 2 significant digits from
+ * 1 µs up to one hour, so percentiles stay within 1% without storing samples. All
+ * counts live in one preallocated array and recording only does atomic adds, so it
+ * allocates nothing and is safe to call from any thread.
+ */
+public class Histogram {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    
+    // 2 significant digits need 200 sub-buckets, rounded up to a power of two
+    private static final int SUB_BUCKET_COUNT = 256;
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+    private static final int COUNTS_LENGTH = countsLength();
+    
+    private final String name;
+    private final String labels;
+    private final AtomicLongArray counts = new AtomicLongArray(COUNTS_LENGTH);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+    
+    Histogram(String name, String labels) {
+        this.name = name;
+        this.labels = labels;
+    }
+    
+    /**
+     * Record a duration
+     * @param nanos Duration in nanoseconds, e.g. System.nanoTime() difference
+     */
+    public void recordNanos(long nanos) {
+        record(nanos / 1000);
+    }
+    
+    /**
+     * Record a value in microseconds (clamped to 0 .. one hour)
+     * @param micros Value in microseconds
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS);
+        counts.incrementAndGet(countsIndex(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+        
+        long max = maxMicros.get();
+        while (value > max && !maxMicros.compareAndSet(max, value)) {
+            max = maxMicros.get();
+        }
+    }
+    
+    /**
+     * Get the value at a percentile
+     * @param percentile Percentile 0-100
+     * @return Highest value equivalent to the percentile's bucket in microseconds, 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int index = 0; index < COUNTS_LENGTH; index++) {
+            seen += counts.get(index);
+            if (seen >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(index), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+    
+    public long getCount() {
+        return totalCount.get();
+    }
+    
+    public long getTotalMicros() {
+        return totalMicros.get();
+    }
+    
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Get the Prometheus label set of this histogram
+     * @return Labels like condition="visible", empty if none
+     */
+    public String getLabels() {
+        return labels;
+    }
+    
+    private static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+    
+    private static long highestEquivalentValue(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        long lowestValue = (long) subBucketIndex << bucketIndex;
+        return lowestValue + (1L << bucketIndex) - 1;
+    }
+    
+    private static int countsLength() {
+        long smallestUntrackable = SUB_BUCKET_COUNT;
+        int buckets = 1;
+        while (smallestUntrackable <= HIGHEST_TRACKABLE_MICROS) {
+            smallestUntrackable <<= 1;
+            buckets++;
+        }
+        return (buckets + 1) * SUB_BUCKET_HALF_COUNT;
+    }
+}
\ No newline at end of file
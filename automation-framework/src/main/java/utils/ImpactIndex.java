@@ -0,0 +1,263 @@
+package utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * ImpactIndex - Records what each test touches and selects tests affected by a git diff
+ * For every test the index keeps the app files the browser requested from the app server
+ * and the pages.* methods that issued driver commands. Given a base git ref, changed app
+ * files, page object methods and test classes are mapped back to the tests that use them.
+ */
+public class ImpactIndex {
+    private static final Logger logger = LogManager.getLogger(ImpactIndex.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ThreadLocal<Set<String>> pageMethods = ThreadLocal.withInitial(HashSet::new);
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final String PAGES_PACKAGE = "pages.";
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -\\S+ \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern METHOD_DECLARATION = Pattern.compile(
+            "^    (?:public|protected|private)[\\w<>\\[\\], ]*\\s(\\w+)\\s*\\(");
+    
+    /**
+     * Clear the page methods collected on this thread (called at test start)
+     */
+    public static void startTest() {
+        pageMethods.get().clear();
+    }
+    
+    /**
+     * Record the pages.* methods on the current call stack
+     * Called for every driver command, so every page method that reaches the driver is seen.
+     */
+    public static void recordPageMethodsOnStack() {
+        Set<String> methods = pageMethods.get();
+        stackWalker.forEach(frame -> {
+            String className = frame.getClassName();
+            if (className.startsWith(PAGES_PACKAGE)) {
+                methods.add(className.substring(PAGES_PACKAGE.length()) + "." + frame.getMethodName());
+            }
+        });
+    }
+    
+    /**
+     * Store what a finished test touched, replacing its previous entry
+     * @param testId Qualified test name (class.method)
+     * @param assets App files requested during the test
+     */
+    public static synchronized void finishTest(String testId, Collection<String> assets) {
+        Map<String, TestImpact> index = load();
+        TestImpact impact = new TestImpact();
+        impact.assets = new TreeSet<>(assets);
+        impact.pageMethods = new TreeSet<>(pageMethods.get());
+        index.put(testId, impact);
+        pageMethods.get().clear();
+        
+        Path file = getIndexFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), index);
+        } catch (IOException e) {
+            logger.warn("Could not update impact index for {}: {}", testId, e.getMessage());
+        }
+    }
+    
+    /**
+     * Load the impact index
+     * @return Map of test id to what it touched
+     */
+    public static synchronized Map<String, TestImpact> load() {
+        Path file = getIndexFile();
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try {
+            return mapper.readValue(file.toFile(), new TypeReference<TreeMap<String, TestImpact>>() { });
+        } catch (IOException e) {
+            logger.warn("Could not read impact index {}: {}", file, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+    
+    /**
+     * Decide which tests are affected by the changes since a git ref
+     * @param baseRef Git ref to diff against, e.g. origin/main
+     * @param testIds All candidate tests (class.method)
+     * @return Affected test ids; all candidates if the diff cannot be mapped safely
+     */
+    public static Set<String> selectAffectedTests(String baseRef, Collection<String> testIds) {
+        Set<String> all = new TreeSet<>(testIds);
+        Map<String, TestImpact> index = load();
+        Set<String> selected = new TreeSet<>();
+        
+        List<String> changedFiles;
+        Path gitRoot;
+        try {
+            gitRoot = Paths.get(git("rev-parse", "--show-toplevel").get(0));
+            changedFiles = git("diff", "--name-only", baseRef);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Cannot diff against {} ({}), running all tests", baseRef, e.getMessage());
+            return all;
+        }
+        
+        Path appRoot = Paths.get(ConfigManager.getAppRoot()).toAbsolutePath().normalize();
+        for (String changedFile : changedFiles) {
+            Path path = gitRoot.resolve(changedFile).normalize();
+            String fileName = path.getFileName().toString();
+            
+            if (path.getParent().equals(appRoot) && isAppAsset(fileName)) {
+                index.forEach((testId, impact) -> {
+                    if (impact.assets.contains(fileName)) {
+                        selected.add(testId);
+                    }
+                });
+            } else if (changedFile.contains("src/main/java/pages/")) {
+                Set<String> methods = changedPageMethods(baseRef, gitRoot, changedFile, fileName.replace(".java", ""));
+                index.forEach((testId, impact) -> {
+                    if (methods.stream().anyMatch(method -> touchesPageMethod(impact, method))) {
+                        selected.add(testId);
+                    }
+                });
+            } else if (changedFile.contains("src/test/java/tests/")) {
+                String testClass = "tests." + fileName.replace(".java", "") + ".";
+                all.stream().filter(testId -> testId.startsWith(testClass)).forEach(selected::add);
+            } else if (path.startsWith(Paths.get("").toAbsolutePath()) && !fileName.endsWith(".md")) {
+                logger.info("Framework file changed ({}), running all tests", changedFile);
+                return all;
+            }
+        }
+        
+        // Tests never recorded have no impact data, so they always run
+        all.stream().filter(testId -> !index.containsKey(testId)).forEach(selected::add);
+        selected.retainAll(all);
+        logger.info("Impact selection against {}: {} changed files, {}/{} tests selected",
+                baseRef, changedFiles.size(), selected.size(), all.size());
+        return selected;
+    }
+    
+    /**
+     * Find page methods whose bodies changed; "Class.*" if a change is outside any method
+     */
+    private static Set<String> changedPageMethods(String baseRef, Path gitRoot, String changedFile, String pageClass) {
+        Set<String> methods = new TreeSet<>();
+        List<String> source;
+        List<int[]> changedRanges = new ArrayList<>();
+        try {
+            Path file = gitRoot.resolve(changedFile);
+            if (!Files.exists(file)) {
+                methods.add(pageClass + ".*");
+                return methods;
+            }
+            source = Files.readAllLines(file, StandardCharsets.UTF_8);
+            // Diff paths are relative to the repository root, not the working directory
+            for (String line : git("diff", "-U0", baseRef, "--", ":(top)" + changedFile)) {
+                Matcher hunk = HUNK_HEADER.matcher(line);
+                if (hunk.find()) {
+                    int start = Integer.parseInt(hunk.group(1));
+                    int count = hunk.group(2) != null ? Integer.parseInt(hunk.group(2)) : 1;
+                    changedRanges.add(new int[] {start, Math.max(start, start + count - 1)});
+                }
+            }
+        } catch (IOException e) {
+            methods.add(pageClass + ".*");
+            return methods;
+        }
+        
+        // Map each source line to the method declared above it (null outside methods)
+        String[] enclosingMethod = new String[source.size() + 2];
+        String current = null;
+        for (int i = 0; i < source.size(); i++) {
+            Matcher declaration = METHOD_DECLARATION.matcher(source.get(i));
+            if (declaration.find() && !source.get(i).contains("=")) {
+                current = declaration.group(1);
+            } else if (source.get(i).equals("    }")) {
+                enclosingMethod[i + 1] = current;
+                current = null;
+                continue;
+            }
+            enclosingMethod[i + 1] = current;
+        }
+        
+        for (int[] range : changedRanges) {
+            for (int line = range[0]; line <= range[1] && line < enclosingMethod.length; line++) {
+                String method = enclosingMethod[line];
+                methods.add(pageClass + "." + (method != null ? method : "*"));
+            }
+        }
+        return methods;
+    }
+    
+    private static boolean touchesPageMethod(TestImpact impact, String method) {
+        if (method.endsWith(".*")) {
+            String pageClass = method.substring(0, method.length() - 1);
+            // BasePage changes reach every page object
+            return impact.pageMethods.stream().anyMatch(used -> used.startsWith(pageClass))
+                    || (pageClass.equals("BasePage.") && !impact.pageMethods.isEmpty());
+        }
+        return impact.pageMethods.contains(method)
+                || (method.startsWith("BasePage.") && impact.pageMethods.stream()
+                        .anyMatch(used -> used.endsWith(method.substring(method.indexOf('.')))));
+    }
+    
+    private static boolean isAppAsset(String fileName) {
+        return fileName.endsWith(".html") || fileName.endsWith(".js") || fileName.endsWith(".css");
+    }
+    
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> output;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = reader.lines().collect(Collectors.toList());
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("git " + String.join(" ", args) + " failed: " + String.join(" ", output));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted running git", e);
+        }
+        return output;
+    }
+    
+    private static Path getIndexFile() {
+        return Paths.get(ConfigManager.getImpactIndexPath());
+    }
+    
+    /**
+     * TestImpact - App files and page methods touched by one test
+     */
+    public static class TestImpact {
+        public Set<String> assets = new TreeSet<>();
+        public Set<String> pageMethods = new TreeSet<>();
+    }
+}
\ No newline at end of file
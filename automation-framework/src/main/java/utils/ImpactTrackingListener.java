@@ -0,0 +1,17 @@
+package utils;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+
+/**
+ * ImpactTrackingListener - Records which page object methods issue driver commands
+ * Attached by DriverManager when impact.tracking is enabled; feeds ImpactIndex.
+ */
+public class ImpactTrackingListener implements WebDriverListener {
+    
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        ImpactIndex.recordPageMethodsOnStack();
+    }
+}
\ No newline at end of file
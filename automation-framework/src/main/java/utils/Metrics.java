@@ -0,0 +1,201 @@
+package utils;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics - Central registry of histograms, counters and gauges
+ * Metrics are registered once (usually into static final fields) and recorded without
+ * allocating. At suite end export() writes every metric in Prometheus text format
+ * (metrics.prom) and as CSV (metrics.csv) to the metrics output folder.
+ */
+public class Metrics {
+    private static final Logger logger = LogManager.getLogger(Metrics.class);
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    
+    /**
+     * Get or register a latency histogram
+     * @param name Metric name, e.g. wait_duration_seconds
+     * @param labels Label name and value pairs, e.g. "condition", "visible"
+     * @return Histogram shared by all callers with the same name and labels
+     */
+    public static Histogram histogram(String name, String... labels) {
+        String labelSet = labelSet(labels);
+        return histograms.computeIfAbsent(key(name, labelSet), key -> new Histogram(name, labelSet));
+    }
+    
+    /**
+     * Get or register a counter
+     * @param name Metric name, e.g. driver_sessions_started_total
+     * @param labels Label name and value pairs
+     * @return Counter shared by all callers with the same name and labels
+     */
+    public static Counter counter(String name, String... labels) {
+        String labelSet = labelSet(labels);
+        return counters.computeIfAbsent(key(name, labelSet), key -> new Counter(name, labelSet));
+    }
+    
+    /**
+     * Get or register a gauge that is set directly
+     * @param name Metric name, e.g. driver_sessions_active
+     * @param labels Label name and value pairs
+     * @return Gauge shared by all callers with the same name and labels
+     */
+    public static Gauge gauge(String name, String... labels) {
+        return gauge(name, null, labels);
+    }
+    
+    /**
+     * Get or register a gauge that is read from a supplier at export time
+     * @param name Metric name
+     * @param supplier Current value, or null for a directly set gauge
+     * @param labels Label name and value pairs
+     * @return Gauge shared by all callers with the same name and labels
+     */
+    public static Gauge gauge(String name, LongSupplier supplier, String... labels) {
+        String labelSet = labelSet(labels);
+        return gauges.computeIfAbsent(key(name, labelSet), key -> new Gauge(name, labelSet, supplier));
+    }
+    
+    /**
+     * Write all metrics as metrics.prom and metrics.csv into the metrics output folder
+     */
+    public static void export() {
+        if (!ConfigManager.isMetricsExportEnabled()) {
+            return;
+        }
+        
+        Path outputDir = Paths.get(ConfigManager.getMetricsOutputPath());
+        try {
+            Files.createDirectories(outputDir);
+            Files.write(outputDir.resolve("metrics.prom"), toPrometheus(), StandardCharsets.UTF_8);
+            Files.write(outputDir.resolve("metrics.csv"), toCsv(), StandardCharsets.UTF_8);
+            logger.info("Metrics ({} histograms, {} counters, {} gauges) written to {}", histograms.size(),
+                    counters.size(), gauges.size(), outputDir);
+        } catch (IOException e) {
+            logger.warn("Could not write metrics: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Render all metrics in Prometheus text exposition format
+     * Histograms are exposed as summaries with quantiles in seconds.
+     * @return Lines of the exposition
+     */
+    static List<String> toPrometheus() {
+        List<String> lines = new ArrayList<>();
+        
+        byName(histograms).forEach((name, group) -> {
+            lines.add("# TYPE " + name + " summary");
+            for (Histogram histogram : group) {
+                for (double quantile : QUANTILES) {
+                    String labels = withLabel(histogram.getLabels(), "quantile", format(quantile));
+                    lines.add(name + "{" + labels + "} " + seconds(histogram.getValueAtPercentile(quantile * 100)));
+                }
+                String labels = histogram.getLabels().isEmpty() ? "" : "{" + histogram.getLabels() + "}";
+                lines.add(name + "_sum" + labels + " " + seconds(histogram.getTotalMicros()));
+                lines.add(name + "_count" + labels + " " + histogram.getCount());
+            }
+        });
+        byName(counters).forEach((name, group) -> {
+            lines.add("# TYPE " + name + " counter");
+            group.forEach(counter -> lines.add(sample(name, counter.getLabels(), counter.getCount())));
+        });
+        byName(gauges).forEach((name, group) -> {
+            lines.add("# TYPE " + name + " gauge");
+            group.forEach(gauge -> lines.add(sample(name, gauge.getLabels(), gauge.getValue())));
+        });
+        return lines;
+    }
+    
+    /**
+     * Render all metrics as CSV, histogram values in milliseconds
+     * @return CSV lines with header
+     */
+    static List<String> toCsv() {
+        List<String> lines = new ArrayList<>();
+        lines.add("type,name,labels,count,value,mean_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        byName(histograms).forEach((name, group) -> group.forEach(histogram -> {
+            long count = histogram.getCount();
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "histogram,%s,\"%s\",%d,,%s",
+                    name, histogram.getLabels().replace("\"", "'"), count,
+                    millis(count > 0 ? histogram.getTotalMicros() / count : 0)));
+            for (double quantile : QUANTILES) {
+                line.append(',').append(millis(histogram.getValueAtPercentile(quantile * 100)));
+            }
+            lines.add(line.append(',').append(millis(histogram.getMaxMicros())).toString());
+        }));
+        byName(counters).forEach((name, group) -> group.forEach(counter -> lines.add(String.format(
+                "counter,%s,\"%s\",,%d,,,,,,", name, counter.getLabels().replace("\"", "'"), counter.getCount()))));
+        byName(gauges).forEach((name, group) -> group.forEach(gauge -> lines.add(String.format(
+                "gauge,%s,\"%s\",,%d,,,,,,", name, gauge.getLabels().replace("\"", "'"), gauge.getValue()))));
+        return lines;
+    }
+    
+    /**
+     * Group registered metrics by name, sorted, so each name gets one TYPE line
+     */
+    private static <T> Map<String, List<T>> byName(Map<String, T> metrics) {
+        Map<String, List<T>> grouped = new TreeMap<>();
+        new TreeMap<>(metrics).forEach((key, metric) -> {
+            int labelStart = key.indexOf('{');
+            String name = labelStart < 0 ? key : key.substring(0, labelStart);
+            grouped.computeIfAbsent(name, ignored -> new ArrayList<>()).add(metric);
+        });
+        return grouped;
+    }
+    
+    private static String labelSet(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name and value pairs");
+        }
+        StringBuilder labelSet = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            String value = labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            labelSet.append(i > 0 ? "," : "").append(labels[i]).append("=\"").append(value).append('"');
+        }
+        return labelSet.toString();
+    }
+    
+    private static String key(String name, String labelSet) {
+        return labelSet.isEmpty() ? name : name + "{" + labelSet + "}";
+    }
+    
+    private static String withLabel(String labelSet, String name, String value) {
+        return (labelSet.isEmpty() ? "" : labelSet + ",") + name + "=\"" + value + "\"";
+    }
+    
+    private static String sample(String name, String labelSet, long value) {
+        return name + (labelSet.isEmpty() ? "" : "{" + labelSet + "}") + " " + value;
+    }
+    
+    private static String seconds(long micros) {
+        return format(micros / 1_000_000.0);
+    }
+    
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1000.0);
+    }
+    
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value).replaceAll("0+$", "").replaceAll("\\.$", "");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,258 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigManager;
+import config.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ResultCache - Local cache of passed test results keyed by content hashes
+ * The key covers the app files, the bytecode and resources (test data) of the test and framework
+ * classes, the visual baselines, the config snapshot and the browser version. A test whose key matches a cached pass is
+ * replayed as passed with its recorded artifacts instead of running again.
+ * Use -Dresult.cache.force=true to run everything and refresh the cache.
+ */
+public class ResultCache {
+    private static final Logger logger = LogManager.getLogger(ResultCache.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String ENTRY_FILE = "entry.json";
+    private static final String REPLAYED_ATTRIBUTE = "resultCache.replayed";
+    private static final Map<Path, String> codeHashes = new ConcurrentHashMap<>();
+    private static volatile String assetsHash;
+    private static volatile String baselinesHash;
+    
+    /**
+     * Compute the cache key of a test
+     * @param testClass Test class
+     * @param testId Qualified test name (class.method)
+     * @param parameters Test parameters (data provider values)
+     * @param browser Browser the test runs on
+     * @return Hex key, or null if caching is off or the browser version is unknown
+     */
+    public static String keyFor(Class<?> testClass, String testId, Object[] parameters, String browser) {
+        if (!ConfigManager.isResultCacheEnabled()) {
+            return null;
+        }
+        
+        String browserVersion = DriverManager.getInstalledBrowserVersion(browser);
+        if (browserVersion == null) {
+            logger.debug("Browser version unknown, result cache disabled for {}", testId);
+            return null;
+        }
+        
+        List<String> ignoredKeys = ConfigManager.getResultCacheIgnoredKeys();
+        String config = ConfigManager.getConfigSnapshot().entrySet().stream()
+                .filter(entry -> ignoredKeys.stream().noneMatch(entry.getKey()::startsWith))
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining("\n"));
+        
+        MessageDigest digest = newDigest();
+        for (String part : new String[] {testId, Arrays.deepToString(parameters), getAssetsHash(),
+                getCodeHash(testClass), getCodeHash(ResultCache.class), getBaselinesHash(), config, browser,
+                browserVersion}) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    /**
+     * Look up a cached pass for a test
+     * @param testId Qualified test name
+     * @param key Current cache key
+     * @return Cached entry, or null on a miss or when forced to run
+     */
+    public static Entry lookup(String testId, String key) {
+        if (key == null || ConfigManager.isResultCacheForced()) {
+            return null;
+        }
+        
+        Path entryFile = entryDirectory(testId).resolve(ENTRY_FILE);
+        if (!Files.exists(entryFile)) {
+            return null;
+        }
+        try {
+            Entry entry = mapper.readValue(entryFile.toFile(), Entry.class);
+            return key.equals(entry.key) ? entry : null;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable result cache entry {}: {}", entryFile, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Store a passed test in the cache, copying its artifacts
+     * @param testId Qualified test name
+     * @param key Cache key the test ran with
+     * @param durationMillis Test duration
+     * @param artifacts Files produced by the test
+     */
+    public static void store(String testId, String key, long durationMillis, List<Path> artifacts) {
+        if (key == null) {
+            return;
+        }
+        
+        Path directory = entryDirectory(testId);
+        try {
+            if (Files.exists(directory)) {
+                try (Stream<Path> oldFiles = Files.list(directory)) {
+                    for (Path oldFile : oldFiles.collect(Collectors.toList())) {
+                        Files.delete(oldFile);
+                    }
+                }
+            }
+            Files.createDirectories(directory);
+            
+            Entry entry = new Entry();
+            entry.key = key;
+            entry.recordedAt = Instant.now().toString();
+            entry.durationMillis = durationMillis;
+            for (Path artifact : artifacts) {
+                Path copy = directory.resolve(artifact.getFileName());
+                Files.copy(artifact, copy, StandardCopyOption.REPLACE_EXISTING);
+                entry.artifacts.add(copy.toString());
+            }
+            mapper.writerWithDefaultPrettyPrinter().writeValue(directory.resolve(ENTRY_FILE).toFile(), entry);
+            logger.debug("Cached result of {} ({} artifacts)", testId, artifacts.size());
+        } catch (IOException e) {
+            logger.warn("Could not cache result of {}: {}", testId, e.getMessage());
+        }
+    }
+    
+    /**
+     * Mark a test result as replayed from the cache
+     * @param result TestNG result
+     * @param entry Cache entry being replayed
+     */
+    public static void markReplayed(ITestResult result, Entry entry) {
+        result.setAttribute(REPLAYED_ATTRIBUTE, entry);
+    }
+    
+    /**
+     * Get the cache entry a test result was replayed from
+     * @param result TestNG result
+     * @return Entry, or null if the test really ran
+     */
+    public static Entry getReplayedEntry(ITestResult result) {
+        return (Entry) result.getAttribute(REPLAYED_ATTRIBUTE);
+    }
+    
+    /**
+     * Check if a test result was replayed from the cache rather than run
+     * @param result TestNG result
+     * @return true if replayed
+     */
+    public static boolean isReplayed(ITestResult result) {
+        return getReplayedEntry(result) != null;
+    }
+    
+    /**
+     * Hash all app files (html/js/css) in the app root, once per JVM
+     */
+    private static String getAssetsHash() {
+        if (assetsHash == null) {
+            Path appRoot = Paths.get(ConfigManager.getAppRoot()).toAbsolutePath().normalize();
+            try (Stream<Path> files = Files.list(appRoot)) {
+                assetsHash = hashFiles(appRoot, files.filter(file -> file.toString().matches(".*\\.(html|js|css)$")));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to hash app files in " + appRoot, e);
+            }
+        }
+        return assetsHash;
+    }
+    
+    /**
+     * Hash the stored visual baselines, once per JVM (empty when there are none yet)
+     */
+    private static String getBaselinesHash() {
+        if (baselinesHash == null) {
+            Path baselines = Paths.get(ConfigManager.getVisualBaselinePath()).toAbsolutePath().normalize();
+            if (!Files.isDirectory(baselines)) {
+                baselinesHash = "";
+                return baselinesHash;
+            }
+            try (Stream<Path> files = Files.walk(baselines)) {
+                baselinesHash = hashFiles(baselines, files.filter(Files::isRegularFile));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to hash visual baselines in " + baselines, e);
+            }
+        }
+        return baselinesHash;
+    }
+    
+    /**
+     * Hash all class and resource files of the classpath entry a class was loaded from
+     * Resources such as testdata/testdata.json change test outcomes as much as bytecode does.
+     */
+    private static String getCodeHash(Class<?> type) {
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return "";
+        }
+        try {
+            Path location = Paths.get(codeSource.getLocation().toURI());
+            return codeHashes.computeIfAbsent(location, root -> {
+                try (Stream<Path> files = Files.isDirectory(root) ? Files.walk(root) : Stream.of(root)) {
+                    return hashFiles(root, files.filter(Files::isRegularFile));
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to hash classpath files in " + root, e);
+                }
+            });
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Invalid code location for " + type.getName(), e);
+        }
+    }
+    
+    private static String hashFiles(Path root, Stream<Path> files) throws IOException {
+        MessageDigest digest = newDigest();
+        for (Path file : files.sorted().collect(Collectors.toList())) {
+            digest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(file));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static Path entryDirectory(String testId) {
+        return Paths.get(ConfigManager.getResultCachePath(), testId.replaceAll("[^A-Za-z0-9_.-]", "_"));
+    }
+    
+    /**
+     * Entry - A cached test pass
+     */
+    public static class Entry {
+        public String key;
+        public String recordedAt;
+        public long durationMillis;
+        public List<String> artifacts = new ArrayList<>();
+    }
+}
\ No newline at end of file
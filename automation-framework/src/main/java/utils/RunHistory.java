@@ -0,0 +1,171 @@
+package utils;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RunHistory - Append-only store of test durations and outcomes
+ * Every finished test adds one tab-separated line (timestamp, test, duration, outcome)
+ * to run.history.path; the file is read back to drive test ordering.
+ */
+public class RunHistory {
+    private static final Logger logger = LogManager.getLogger(RunHistory.class);
+    private static final String SEPARATOR = "\t";
+    private static final int DURATION_SAMPLES = 10;
+    
+    /**
+     * Outcome of one recorded test run (RETRIED = failed attempt that was run again)
+     */
+    public enum Outcome {
+        PASSED, FAILED, SKIPPED, RETRIED
+    }
+    
+    /**
+     * Append one test run to the history file
+     * @param testId Qualified test name (class.method)
+     * @param durationMillis Test duration
+     * @param outcome Test outcome
+     */
+    public static synchronized void record(String testId, long durationMillis, Outcome outcome) {
+        Path file = getHistoryFile();
+        String line = String.join(SEPARATOR, String.valueOf(System.currentTimeMillis()), testId,
+                String.valueOf(durationMillis), outcome.name()) + System.lineSeparator();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Could not append run history for {}: {}", testId, e.getMessage());
+        }
+    }
+    
+    /**
+     * Load history grouped by test, oldest run first
+     * @return Map of test id to its stats
+     */
+    public static synchronized Map<String, TestStats> load() {
+        Map<String, TestStats> stats = new HashMap<>();
+        Path file = getHistoryFile();
+        if (!Files.exists(file)) {
+            return stats;
+        }
+        
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(SEPARATOR);
+                if (fields.length < 4) {
+                    continue;
+                }
+                try {
+                    stats.computeIfAbsent(fields[1], TestStats::new)
+                            .add(Long.parseLong(fields[2]), Outcome.valueOf(fields[3]));
+                } catch (IllegalArgumentException e) {
+                    logger.debug("Skipping malformed history line: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read run history {}: {}", file, e.getMessage());
+        }
+        return stats;
+    }
+    
+    private static Path getHistoryFile() {
+        return Paths.get(ConfigManager.getRunHistoryPath());
+    }
+    
+    /**
+     * TestStats - Recorded runs of one test
+     */
+    public static class TestStats {
+        private final String testId;
+        private final List<Long> durations = new ArrayList<>();
+        private final List<Outcome> outcomes = new ArrayList<>();
+        private int completedRuns = 0;
+        private int passedAfterRetry = 0;
+        private boolean retryPending = false;
+        
+        TestStats(String testId) {
+            this.testId = testId;
+        }
+        
+        void add(long durationMillis, Outcome outcome) {
+            if (outcome == Outcome.RETRIED) {
+                retryPending = true;
+                return;
+            }
+            
+            outcomes.add(outcome);
+            if (outcome != Outcome.SKIPPED) {
+                durations.add(durationMillis);
+                completedRuns++;
+                if (outcome == Outcome.PASSED && retryPending) {
+                    passedAfterRetry++;
+                }
+            }
+            retryPending = false;
+        }
+        
+        public String getTestId() {
+            return testId;
+        }
+        
+        public int getRunCount() {
+            return outcomes.size();
+        }
+        
+        /**
+         * Get number of runs that ended passed or failed (retried attempts not counted)
+         * @return Completed run count
+         */
+        public int getCompletedRunCount() {
+            return completedRuns;
+        }
+        
+        /**
+         * Get share of completed runs that passed only after a retry
+         * @return Flakiness rate 0.0-1.0
+         */
+        public double getFlakinessRate() {
+            return completedRuns == 0 ? 0 : (double) passedAfterRetry / completedRuns;
+        }
+        
+        /**
+         * Median duration of the most recent runs
+         * @return Expected duration in ms, or -1 if never run to completion
+         */
+        public long getExpectedDurationMillis() {
+            if (durations.isEmpty()) {
+                return -1;
+            }
+            List<Long> recent = new ArrayList<>(
+                    durations.subList(Math.max(0, durations.size() - DURATION_SAMPLES), durations.size()));
+            Collections.sort(recent);
+            return recent.get(recent.size() / 2);
+        }
+        
+        /**
+         * Check if the test failed in any of its last runs
+         * @param lastRuns Number of most recent runs to look at
+         * @return true if a recent run failed
+         */
+        public boolean hasFailedRecently(int lastRuns) {
+            return outcomes.subList(Math.max(0, outcomes.size() - lastRuns), outcomes.size())
+                    .contains(Outcome.FAILED);
+        }
+    }
+}
\ No newline at end of file
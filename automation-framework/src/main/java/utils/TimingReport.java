@@ -0,0 +1,117 @@
+package utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * TimingReport - Percentile summary over all exported test timings
+ * Reads every JSON file written by Timings and reports p50/p99 per span path
+ * (test &gt; phase &gt; step), so slow phases stand out across many runs. Tests run with an
+ * emulation profile are summarized separately, e.g. "TC001 {rural-3g} &gt; Phase 1".
+ */
+public class TimingReport {
+    private static final Logger logger = LogManager.getLogger(TimingReport.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String SUMMARY_FILE = "timing-summary.csv";
+    
+    /**
+     * Summarize all runs in the timing output folder
+     * Logs test and phase percentiles and writes timing-summary.csv with every span path
+     */
+    public static void summarize() {
+        Path outputDir = Paths.get(ConfigManager.getTimingOutputPath());
+        if (!Files.isDirectory(outputDir)) {
+            return;
+        }
+        
+        Map<String, List<Long>> durationsByPath = new TreeMap<>();
+        Map<String, String> kindByPath = new TreeMap<>();
+        try (Stream<Path> files = Files.list(outputDir)) {
+            files.filter(file -> file.toString().endsWith(".json")).forEach(file -> {
+                try {
+                    collect(mapper.readTree(file.toFile()), "", durationsByPath, kindByPath);
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable timing file {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not read timings from {}: {}", outputDir, e.getMessage());
+            return;
+        }
+        
+        List<String> csv = new ArrayList<>();
+        csv.add("path,kind,count,p50_ms,p99_ms,max_ms");
+        logger.info("Timing summary ({} span paths):", durationsByPath.size());
+        durationsByPath.forEach((path, durations) -> {
+            Collections.sort(durations);
+            String kind = kindByPath.get(path);
+            double p50 = toMillis(percentile(durations, 50));
+            double p99 = toMillis(percentile(durations, 99));
+            double max = toMillis(durations.get(durations.size() - 1));
+            csv.add(String.format("\"%s\",%s,%d,%.1f,%.1f,%.1f",
+                    path.replace("\"", "'"), kind, durations.size(), p50, p99, max));
+            
+            if ("test".equals(kind) || "phase".equals(kind)) {
+                logger.info("  {} | n={} p50={}ms p99={}ms", path, durations.size(),
+                        String.format("%.1f", p50), String.format("%.1f", p99));
+            }
+        });
+        
+        try {
+            Files.write(outputDir.resolve(SUMMARY_FILE), csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Could not write {}: {}", SUMMARY_FILE, e.getMessage());
+        }
+    }
+    
+    private static void collect(JsonNode span, String parentPath, Map<String, List<Long>> durationsByPath,
+            Map<String, String> kindByPath) {
+        String kind = span.path("kind").asText();
+        String path = parentPath.isEmpty() ? span.path("name").asText()
+                : parentPath + " > " + span.path("name").asText();
+        if (span.hasNonNull("emulation")) {
+            path += " {" + span.path("emulation").asText() + "}";
+        }
+        
+        // Driver commands are aggregated by command name under their step
+        if ("command".equals(kind)) {
+            path = parentPath + " > [" + span.path("name").asText() + "]";
+        }
+        
+        durationsByPath.computeIfAbsent(path, key -> new ArrayList<>()).add(span.path("durationNanos").asLong());
+        kindByPath.put(path, kind);
+        for (JsonNode child : span.path("children")) {
+            collect(child, path, durationsByPath, kindByPath);
+        }
+    }
+    
+    /**
+     * Nearest-rank percentile of a sorted list
+     * @param sorted Sorted values
+     * @param percentile Percentile 0-100
+     * @return Value at percentile
+     */
+    public static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+    
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
\ No newline at end of file
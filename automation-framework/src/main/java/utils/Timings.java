@@ -0,0 +1,258 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import config.ConfigManager;
+import config.DriverManager;
+import config.EmulationProfile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings - Nested timing spans for tests, phases, steps and driver commands
+ * Uses the monotonic System.nanoTime() clock. Spans are kept per thread; when a test
+ * finishes its span tree is exported as JSON and in folded flame-graph format.
+ * Test spans are tagged with the session's emulation profile, if any.
+ */
+public class Timings {
+    private static final Logger logger = LogManager.getLogger(Timings.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ThreadLocal<Deque<Span>> openSpans = ThreadLocal.withInitial(ArrayDeque::new);
+    
+    /**
+     * Span kinds, from outermost to innermost
+     */
+    public enum Kind {
+        TEST, PHASE, STEP, COMMAND
+    }
+    
+    /**
+     * Start timing a test (ends and discards any test still open on this thread)
+     * @param name Test name, e.g. test ID
+     * @return Root span of the test
+     */
+    public static Span startTest(String name) {
+        openSpans.get().clear();
+        return start(Kind.TEST, name);
+    }
+    
+    /**
+     * Start a span under the innermost open span
+     * Any open span of the same or a deeper kind is ended first, so calling
+     * start(PHASE, ...) twice in a row times two sibling phases.
+     * @param kind Span kind
+     * @param name Span name
+     * @return Started span, or null if no test is being timed
+     */
+    public static Span start(Kind kind, String name) {
+        Deque<Span> stack = openSpans.get();
+        while (!stack.isEmpty() && stack.peek().kind.ordinal() >= kind.ordinal()) {
+            stack.pop().close();
+        }
+        
+        if (kind != Kind.TEST && stack.isEmpty()) {
+            return null;
+        }
+        
+        Span span = new Span(kind, name, stack.peek());
+        stack.push(span);
+        return span;
+    }
+    
+    /**
+     * End the innermost open span of a kind (and anything nested inside it)
+     * @param kind Span kind
+     * @return Ended span, or null if none was open
+     */
+    public static Span end(Kind kind) {
+        Deque<Span> stack = openSpans.get();
+        if (stack.stream().noneMatch(span -> span.kind == kind)) {
+            return null;
+        }
+        
+        Span span;
+        do {
+            span = stack.pop();
+            span.close();
+        } while (span.kind != kind);
+        return span;
+    }
+    
+    /**
+     * Get elapsed time of the test open on this thread
+     * @return Milliseconds since the test span started, or 0 if none
+     */
+    public static long getTestElapsedMillis() {
+        Span root = openSpans.get().peekLast();
+        return root != null ? root.getDurationMillis() : 0;
+    }
+    
+    /**
+     * Check if a test is being timed on this thread
+     * @return true if a test span is open
+     */
+    public static boolean isTestActive() {
+        return !openSpans.get().isEmpty();
+    }
+    
+    /**
+     * Finish the test open on this thread and export its timings
+     * @param passed Test outcome
+     * @return Root span of the finished test, or null if none was open
+     */
+    public static Span finishTest(boolean passed) {
+        Deque<Span> stack = openSpans.get();
+        Span root = stack.peekLast();
+        if (root == null) {
+            return null;
+        }
+        
+        while (!stack.isEmpty()) {
+            stack.pop().close();
+        }
+        root.outcome = passed ? "passed" : "failed";
+        
+        if (ConfigManager.isTimingExportEnabled()) {
+            export(root);
+        }
+        return root;
+    }
+    
+    /**
+     * Write span tree as &lt;test&gt;-&lt;timestamp&gt;.json and .folded into the timing output folder
+     * @param root Root span of a test
+     */
+    private static void export(Span root) {
+        Path outputDir = Paths.get(ConfigManager.getTimingOutputPath());
+        String baseName = root.name.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + System.currentTimeMillis()
+                + "-" + Thread.currentThread().getId();
+        
+        try {
+            Files.createDirectories(outputDir);
+            Path jsonFile = outputDir.resolve(baseName + ".json");
+            mapper.writerWithDefaultPrettyPrinter().writeValue(jsonFile.toFile(), root.toJson(root.startNanos));
+            root.exportedFiles.add(jsonFile);
+            
+            List<String> folded = new ArrayList<>();
+            root.appendFolded("", folded);
+            Path foldedFile = outputDir.resolve(baseName + ".folded");
+            Files.write(foldedFile, folded, StandardCharsets.UTF_8);
+            root.exportedFiles.add(foldedFile);
+            
+            logger.debug("Timings for {} written to {}{}{}.json", root.name, outputDir, File.separator, baseName);
+        } catch (IOException e) {
+            logger.warn("Could not write timings for {}: {}", root.name, e.getMessage());
+        }
+    }
+    
+    /**
+     * Span - One timed section
+     */
+    public static class Span {
+        private final Kind kind;
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final List<Span> children = new ArrayList<>();
+        private final List<Path> exportedFiles = new ArrayList<>();
+        private final String emulation;
+        private long endNanos;
+        private String outcome;
+        
+        Span(Kind kind, String name, Span parent) {
+            this.kind = kind;
+            this.name = name;
+            String profile = kind == Kind.TEST ? DriverManager.getEmulationProfile() : null;
+            this.emulation = EmulationProfile.NONE_NAME.equals(profile) ? null : profile;
+            if (parent != null) {
+                parent.children.add(this);
+            }
+        }
+        
+        void close() {
+            if (endNanos == 0) {
+                endNanos = System.nanoTime();
+            }
+        }
+        
+        public long getDurationNanos() {
+            return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+        }
+        
+        public long getDurationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(getDurationNanos());
+        }
+        
+        public Kind getKind() {
+            return kind;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Get emulation profile the test ran with (test spans only)
+         * @return Profile name, or null without emulation
+         */
+        public String getEmulation() {
+            return emulation;
+        }
+        
+        public List<Span> getChildren() {
+            return children;
+        }
+        
+        /**
+         * Get files this span tree was exported to (root span only)
+         * @return Exported JSON and folded files, empty if not exported
+         */
+        public List<Path> getExportedFiles() {
+            return exportedFiles;
+        }
+        
+        ObjectNode toJson(long originNanos) {
+            ObjectNode node = mapper.createObjectNode();
+            node.put("kind", kind.name().toLowerCase());
+            node.put("name", name);
+            node.put("startNanos", startNanos - originNanos);
+            node.put("durationNanos", getDurationNanos());
+            if (outcome != null) {
+                node.put("outcome", outcome);
+            }
+            if (emulation != null) {
+                node.put("emulation", emulation);
+            }
+            if (!children.isEmpty()) {
+                ArrayNode childNodes = node.putArray("children");
+                children.forEach(child -> childNodes.add(child.toJson(originNanos)));
+            }
+            return node;
+        }
+        
+        /**
+         * Append folded stack lines ("a;b;c selfMicros") for flame graph tools
+         */
+        void appendFolded(String prefix, List<String> lines) {
+            String stack = prefix + name.replace(';', ',');
+            long childNanos = children.stream().mapToLong(Span::getDurationNanos).sum();
+            long selfMicros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, getDurationNanos() - childNanos));
+            if (selfMicros > 0) {
+                lines.add(stack + " " + selfMicros);
+            }
+            children.forEach(child -> child.appendFolded(stack + ";", lines));
+        }
+    }
+}
\ No newline at end of file
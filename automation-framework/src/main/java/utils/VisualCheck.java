@@ -0,0 +1,204 @@
+package utils;
+
+import config.ConfigManager;
+import config.DriverManager;
+import config.ExecutionManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * VisualCheck - Compares page screenshots with stored baselines while the test goes on
+ * check() only captures the screenshot and the ignored regions; decoding, diffing (VisualDiff)
+ * and writing files run on background threads. finishTest() waits for the test's comparisons.
+ * Baselines are kept as visual.baseline.path/&lt;browser&gt;/&lt;emulation profile&gt;/&lt;name&gt;.png and
+ * recorded when missing; mismatches leave the screenshot and a diff image in visual.output.path.
+ */
+public final class VisualCheck {
+    private static final Logger logger = LogManager.getLogger(VisualCheck.class);
+    
+    // Boxes of the elements matching a selector list, in screenshot pixels
+    private static final String IGNORE_SCRIPT = "var ratio = window.devicePixelRatio || 1;"
+            + "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function (element) {"
+            + "  var box = element.getBoundingClientRect();"
+            + "  return [box.left * ratio, box.top * ratio, box.width * ratio, box.height * ratio];"
+            + "});";
+    
+    private static final ExecutorService comparisons = ExecutionManager.newTaskExecutor("visual-check");
+    // CPU bound, so a fixed number of workers whatever the execution mode
+    private static final ExecutorService tiles = Executors.newFixedThreadPool(
+            ConfigManager.getVisualDiffThreads(), ExecutionManager.newThreadFactory("visual-diff"));
+    private static final ThreadLocal<List<CompletableFuture<Comparison>>> pending =
+            ThreadLocal.withInitial(ArrayList::new);
+    
+    private static final Histogram DIFF_TIMES = Metrics.histogram("visual_diff_duration_seconds");
+    private static final Counter MISMATCHES = Metrics.counter("visual_mismatches_total");
+    
+    public enum Outcome {
+        MATCH, MISMATCH, NEW_BASELINE, ERROR
+    }
+    
+    private VisualCheck() {
+    }
+    
+    /**
+     * Capture the current page and queue its comparison with the baseline
+     * Does nothing when visual.enabled is off or the driver cannot take screenshots (HtmlUnit).
+     * @param driver Driver showing the page
+     * @param name Screenshot name (index, home, result), also selects visual.ignore.&lt;name&gt;
+     * @param testId Test the screenshot belongs to, names the output folder
+     */
+    public static void check(WebDriver driver, String name, String testId) {
+        if (!ConfigManager.isVisualEnabled()) {
+            return;
+        }
+        if (!(driver instanceof TakesScreenshot)) {
+            logger.debug("Driver cannot take screenshots, skipping visual check '{}'", name);
+            return;
+        }
+        
+        List<Rectangle> ignored = findIgnoredRegions(driver, ConfigManager.getVisualIgnoreSelectors(name));
+        byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        Path baseline = Paths.get(ConfigManager.getVisualBaselinePath(), DriverManager.getCurrentBrowser(),
+                DriverManager.getEmulationProfile(), name + ".png");
+        Path outputDir = Paths.get(ConfigManager.getVisualOutputPath(), testId);
+        
+        pending.get().add(CompletableFuture
+                .supplyAsync(() -> compare(name, screenshot, ignored, baseline, outputDir), comparisons)
+                .exceptionally(e -> new Comparison(name, Outcome.ERROR, 0, String.valueOf(e.getCause()), null)));
+    }
+    
+    /**
+     * Wait for the comparisons queued by this thread's test and forget them
+     * @return Finished comparisons in the order they were queued
+     */
+    public static List<Comparison> finishTest() {
+        List<Comparison> finished = new ArrayList<>();
+        for (CompletableFuture<Comparison> comparison : pending.get()) {
+            finished.add(comparison.join());
+        }
+        pending.remove();
+        return finished;
+    }
+    
+    private static List<Rectangle> findIgnoredRegions(WebDriver driver, String selectors) {
+        List<Rectangle> regions = new ArrayList<>();
+        if (selectors.isEmpty()) {
+            return regions;
+        }
+        
+        Object boxes = ((JavascriptExecutor) driver).executeScript(IGNORE_SCRIPT, selectors);
+        if (boxes instanceof List) {
+            for (Object box : (List<?>) boxes) {
+                List<?> values = (List<?>) box;
+                int left = (int) Math.floor(((Number) values.get(0)).doubleValue());
+                int top = (int) Math.floor(((Number) values.get(1)).doubleValue());
+                int width = (int) Math.ceil(((Number) values.get(2)).doubleValue()) + 1;
+                int height = (int) Math.ceil(((Number) values.get(3)).doubleValue()) + 1;
+                regions.add(new Rectangle(left, top, width, height));
+            }
+        }
+        return regions;
+    }
+    
+    private static Comparison compare(String name, byte[] screenshot, List<Rectangle> ignored, Path baseline,
+                                      Path outputDir) {
+        try {
+            if (ConfigManager.isVisualUpdate() || !Files.exists(baseline)) {
+                Files.createDirectories(baseline.getParent());
+                Files.write(baseline, screenshot);
+                logger.info("Visual baseline '{}' recorded at {}", name, baseline);
+                return new Comparison(name, Outcome.NEW_BASELINE, 0, "baseline recorded", baseline);
+            }
+            
+            BufferedImage actual = ImageIO.read(new ByteArrayInputStream(screenshot));
+            BufferedImage expected = ImageIO.read(baseline.toFile());
+            int width = actual.getWidth();
+            int height = actual.getHeight();
+            if (expected.getWidth() != width || expected.getHeight() != height) {
+                MISMATCHES.increment();
+                Path actualFile = write(outputDir, name + "-actual.png", screenshot);
+                return new Comparison(name, Outcome.MISMATCH, 100, String.format("size %dx%d, baseline %dx%d",
+                        width, height, expected.getWidth(), expected.getHeight()), actualFile);
+            }
+            
+            long start = System.nanoTime();
+            VisualDiff.Result result = VisualDiff.compare(pixels(expected), pixels(actual), width, height, ignored,
+                    ConfigManager.getVisualThreshold(), ConfigManager.getVisualTileSize(), tiles);
+            DIFF_TIMES.recordNanos(System.nanoTime() - start);
+            
+            String summary = String.format("%d of %d pixels differ", result.getDifferentPixels(),
+                    result.getComparedPixels());
+            if (result.getDiffPercent() <= ConfigManager.getVisualMaxDiffPercent()) {
+                logger.debug("Visual check '{}' matches ({})", name, summary);
+                return new Comparison(name, Outcome.MATCH, result.getDiffPercent(), summary, null);
+            }
+            
+            MISMATCHES.increment();
+            write(outputDir, name + "-actual.png", screenshot);
+            BufferedImage diffImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            diffImage.setRGB(0, 0, width, height, result.getDiffPixels(), 0, width);
+            Path diffFile = outputDir.resolve(name + "-diff.png");
+            ImageIO.write(diffImage, "png", diffFile.toFile());
+            logger.warn("Visual check '{}' differs from its baseline: {}, see {}", name, summary, diffFile);
+            return new Comparison(name, Outcome.MISMATCH, result.getDiffPercent(), summary, diffFile);
+        } catch (IOException e) {
+            logger.error("Visual check '{}' failed: {}", name, e.getMessage());
+            return new Comparison(name, Outcome.ERROR, 0, e.toString(), null);
+        }
+    }
+    
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+    
+    private static Path write(Path dir, String fileName, byte[] content) throws IOException {
+        Files.createDirectories(dir);
+        return Files.write(dir.resolve(fileName), content);
+    }
+    
+    /**
+     * Comparison - Outcome of one visual check
+     */
+    public static final class Comparison {
+        public final String name;
+        public final Outcome outcome;
+        public final double diffPercent;
+        public final String detail;
+        public final Path file;
+        
+        Comparison(String name, Outcome outcome, double diffPercent, String detail, Path file) {
+            this.name = name;
+            this.outcome = outcome;
+            this.diffPercent = diffPercent;
+            this.detail = detail;
+            this.file = file;
+        }
+        
+        public boolean isFailed() {
+            return outcome == Outcome.MISMATCH || outcome == Outcome.ERROR;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s: %s (%s)%s", name, outcome, detail, file != null ? " " + file : "");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package utils;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * VisualDiff - Perceptual comparison of two screenshots held as ARGB pixel arrays
+ * The image is cut into square tiles that are compared in parallel. Two pixels differ when their
+ * distance in YIQ colour space (weighted towards brightness, as the eye sees it) is above the
+ * threshold, so rendering noise and slight colour shifts pass while changed content does not.
+ */
+public final class VisualDiff {
+    // YIQ distance between black and white, the largest possible
+    private static final double MAX_DELTA = 35215;
+    private static final int DIFFERENT_COLOR = 0xFFFF0000;
+    private static final int IGNORED_COLOR = 0xFFFFE000;
+    
+    private VisualDiff() {
+    }
+    
+    /**
+     * Compare two images of the same size
+     * @param expected Baseline pixels, row by row
+     * @param actual New pixels, row by row
+     * @param width Image width
+     * @param height Image height
+     * @param ignored Regions left out of the comparison
+     * @param threshold Colour distance (0-1) above which two pixels differ, 0.1 suits screenshots
+     * @param tileSize Tile edge in pixels
+     * @param executor Executor comparing the tiles
+     * @return Result with the count of differing pixels and a diff image
+     */
+    public static Result compare(int[] expected, int[] actual, int width, int height, List<Rectangle> ignored,
+                                 double threshold, int tileSize, ExecutorService executor) {
+        if (expected.length != width * height || actual.length != width * height) {
+            throw new IllegalArgumentException("Pixel arrays are not " + width + "x" + height);
+        }
+        
+        double maxDelta = MAX_DELTA * threshold * threshold;
+        int[] diff = new int[width * height];
+        List<Future<int[]>> tiles = new ArrayList<>();
+        for (int top = 0; top < height; top += tileSize) {
+            for (int left = 0; left < width; left += tileSize) {
+                Rectangle tile = new Rectangle(left, top, Math.min(tileSize, width - left),
+                        Math.min(tileSize, height - top));
+                List<Rectangle> tileIgnored = clip(ignored, tile);
+                tiles.add(executor.submit(() -> compareTile(expected, actual, diff, width, tile, tileIgnored,
+                        maxDelta)));
+            }
+        }
+        
+        int different = 0;
+        int ignoredPixels = 0;
+        try {
+            for (Future<int[]> tile : tiles) {
+                int[] counts = tile.get();
+                different += counts[0];
+                ignoredPixels += counts[1];
+            }
+        } catch (InterruptedException e) {
+            tiles.forEach(tile -> tile.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while comparing images", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Image comparison failed", e.getCause());
+        }
+        return new Result(width, height, different, width * height - ignoredPixels, diff);
+    }
+    
+    /**
+     * Compare one tile, writing its part of the diff image
+     * @return Number of differing and of ignored pixels
+     */
+    private static int[] compareTile(int[] expected, int[] actual, int[] diff, int width, Rectangle tile,
+                                     List<Rectangle> ignored, double maxDelta) {
+        int different = 0;
+        int ignoredPixels = 0;
+        for (int y = tile.y; y < tile.y + tile.height; y++) {
+            int row = y * width;
+            for (int x = tile.x; x < tile.x + tile.width; x++) {
+                int index = row + x;
+                if (!ignored.isEmpty() && isIgnored(ignored, x, y)) {
+                    diff[index] = IGNORED_COLOR;
+                    ignoredPixels++;
+                } else if (expected[index] != actual[index] && colorDelta(expected[index], actual[index]) > maxDelta) {
+                    diff[index] = DIFFERENT_COLOR;
+                    different++;
+                } else {
+                    diff[index] = faded(expected[index]);
+                }
+            }
+        }
+        return new int[] {different, ignoredPixels};
+    }
+    
+    private static List<Rectangle> clip(List<Rectangle> regions, Rectangle tile) {
+        List<Rectangle> clipped = new ArrayList<>();
+        for (Rectangle region : regions) {
+            if (region.intersects(tile)) {
+                clipped.add(region);
+            }
+        }
+        return clipped;
+    }
+    
+    private static boolean isIgnored(List<Rectangle> regions, int x, int y) {
+        for (Rectangle region : regions) {
+            if (region.contains(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Squared YIQ distance of two pixels, each blended onto white by its alpha
+     */
+    static double colorDelta(int first, int second) {
+        double r1 = blend(first >> 16, first >>> 24);
+        double g1 = blend(first >> 8, first >>> 24);
+        double b1 = blend(first, first >>> 24);
+        double r2 = blend(second >> 16, second >>> 24);
+        double g2 = blend(second >> 8, second >>> 24);
+        double b2 = blend(second, second >>> 24);
+        
+        double y = luma(r1, g1, b1) - luma(r2, g2, b2);
+        double i = (r1 * 0.59597799 - g1 * 0.27417610 - b1 * 0.32180189)
+                - (r2 * 0.59597799 - g2 * 0.27417610 - b2 * 0.32180189);
+        double q = (r1 * 0.21147017 - g1 * 0.52261711 + b1 * 0.31114694)
+                - (r2 * 0.21147017 - g2 * 0.52261711 + b2 * 0.31114694);
+        return 0.5053 * y * y + 0.299 * i * i + 0.1957 * q * q;
+    }
+    
+    private static double blend(int channel, int alpha) {
+        return 255 + ((channel & 0xFF) - 255) * alpha / 255.0;
+    }
+    
+    private static double luma(double r, double g, double b) {
+        return r * 0.29889531 + g * 0.58662247 + b * 0.11448223;
+    }
+    
+    /**
+     * Pale grey version of a matching pixel, so differences stand out in the diff image
+     */
+    private static int faded(int pixel) {
+        double luma = luma(blend(pixel >> 16, pixel >>> 24), blend(pixel >> 8, pixel >>> 24),
+                blend(pixel, pixel >>> 24));
+        int grey = (int) (255 + (luma - 255) * 0.1);
+        return 0xFF000000 | grey << 16 | grey << 8 | grey;
+    }
+    
+    /**
+     * Result - Outcome of one comparison
+     */
+    public static final class Result {
+        private final int width;
+        private final int height;
+        private final int differentPixels;
+        private final int comparedPixels;
+        private final int[] diffPixels;
+        
+        Result(int width, int height, int differentPixels, int comparedPixels, int[] diffPixels) {
+            this.width = width;
+            this.height = height;
+            this.differentPixels = differentPixels;
+            this.comparedPixels = comparedPixels;
+            this.diffPixels = diffPixels;
+        }
+        
+        public int getWidth() {
+            return width;
+        }
+        
+        public int getHeight() {
+            return height;
+        }
+        
+        public int getDifferentPixels() {
+            return differentPixels;
+        }
+        
+        public int getComparedPixels() {
+            return comparedPixels;
+        }
+        
+        /**
+         * Get the diff image: differing pixels red, ignored regions yellow, the rest faded grey
+         * @return ARGB pixels, row by row
+         */
+        public int[] getDiffPixels() {
+            return diffPixels;
+        }
+        
+        /**
+         * Get the share of compared pixels that differ
+         * @return Percentage, 0 when everything was ignored
+         */
+        public double getDiffPercent() {
+            return comparedPixels == 0 ? 0 : differentPixels * 100.0 / comparedPixels;
+        }
+    }
+}
\ No newline at end of file
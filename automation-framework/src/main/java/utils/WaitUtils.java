@@ -5,6 +5,7 @@ import config.DriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -18,14 +19,40 @@ import java.time.Duration;
  */
 public class WaitUtils {
     private static final Logger logger = LogManager.getLogger(WaitUtils.class);
-    private static final int DEFAULT_TIMEOUT = ConfigManager.getExplicitWait();
+    private static volatile int defaultTimeout = ConfigManager.getExplicitWait();
+    
+    // Wait durations per condition, plus waits that timed out or failed
+    private static final Histogram VISIBLE_WAITS = waitHistogram("visible");
+    private static final Histogram CLICKABLE_WAITS = waitHistogram("clickable");
+    private static final Histogram PRESENT_WAITS = waitHistogram("present");
+    private static final Histogram INVISIBLE_WAITS = waitHistogram("invisible");
+    private static final Histogram TEXT_WAITS = waitHistogram("text");
+    private static final Histogram ATTRIBUTE_WAITS = waitHistogram("attribute");
+    private static final Histogram URL_WAITS = waitHistogram("url");
+    private static final Histogram TITLE_WAITS = waitHistogram("title");
+    private static final Histogram CONSOLE_WAITS = waitHistogram("console");
+    private static final Counter FAILED_WAITS = Metrics.counter("wait_failures_total");
+    
+    static {
+        // Pick up explicit.wait changes from configuration reloads
+        ConfigManager.addChangeListener(changedKeys -> {
+            if (changedKeys.contains("explicit.wait")) {
+                defaultTimeout = ConfigManager.getExplicitWait();
+                logger.info("Default wait timeout is now {} seconds", defaultTimeout);
+            }
+        });
+    }
+    
+    private static Histogram waitHistogram(String condition) {
+        return Metrics.histogram("wait_duration_seconds", "condition", condition);
+    }
     
     /**
      * Get WebDriverWait instance with default timeout
      * @return WebDriverWait instance
      */
     private static WebDriverWait getWait() {
-        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(DEFAULT_TIMEOUT));
+        return new WebDriverWait(DriverManager.getDriver(), Duration.ofSeconds(defaultTimeout));
     }
     
     /**
@@ -44,13 +71,17 @@ public class WaitUtils {
      */
     public static WebElement waitForElementToBeVisible(By locator) {
         logger.debug("Waiting for element to be visible: {}", locator);
+        long startNanos = System.nanoTime();
         try {
             WebElement element = getWait().until(ExpectedConditions.visibilityOfElementLocated(locator));
             logger.debug("Element is now visible: {}", locator);
             return element;
         } catch (Exception e) {
-            logger.error("Element not visible within {} seconds: {}", DEFAULT_TIMEOUT, locator);
+            FAILED_WAITS.increment();
+            logger.error("Element not visible within {} seconds: {}", defaultTimeout, locator);
             throw e;
+        } finally {
+            VISIBLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -62,13 +93,17 @@ public class WaitUtils {
      */
     public static WebElement waitForElementToBeVisible(By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be visible: {} (timeout: {}s)", locator, timeoutInSeconds);
+        long startNanos = System.nanoTime();
         try {
             WebElement element = getWait(timeoutInSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
             logger.debug("Element is now visible: {}", locator);
             return element;
         } catch (Exception e) {
+            FAILED_WAITS.increment();
             logger.error("Element not visible within {} seconds: {}", timeoutInSeconds, locator);
             throw e;
+        } finally {
+            VISIBLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -79,13 +114,17 @@ public class WaitUtils {
      */
     public static WebElement waitForElementToBeClickable(By locator) {
         logger.debug("Waiting for element to be clickable: {}", locator);
+        long startNanos = System.nanoTime();
         try {
             WebElement element = getWait().until(ExpectedConditions.elementToBeClickable(locator));
             logger.debug("Element is now clickable: {}", locator);
             return element;
         } catch (Exception e) {
-            logger.error("Element not clickable within {} seconds: {}", DEFAULT_TIMEOUT, locator);
+            FAILED_WAITS.increment();
+            logger.error("Element not clickable within {} seconds: {}", defaultTimeout, locator);
             throw e;
+        } finally {
+            CLICKABLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -97,13 +136,17 @@ public class WaitUtils {
      */
     public static WebElement waitForElementToBeClickable(By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be clickable: {} (timeout: {}s)", locator, timeoutInSeconds);
+        long startNanos = System.nanoTime();
         try {
             WebElement element = getWait(timeoutInSeconds).until(ExpectedConditions.elementToBeClickable(locator));
             logger.debug("Element is now clickable: {}", locator);
             return element;
         } catch (Exception e) {
+            FAILED_WAITS.increment();
             logger.error("Element not clickable within {} seconds: {}", timeoutInSeconds, locator);
             throw e;
+        } finally {
+            CLICKABLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -114,13 +157,17 @@ public class WaitUtils {
      */
     public static WebElement waitForElementToBePresent(By locator) {
         logger.debug("Waiting for element to be present: {}", locator);
+        long startNanos = System.nanoTime();
         try {
             WebElement element = getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
             logger.debug("Element is now present: {}", locator);
             return element;
         } catch (Exception e) {
-            logger.error("Element not present within {} seconds: {}", DEFAULT_TIMEOUT, locator);
+            FAILED_WAITS.increment();
+            logger.error("Element not present within {} seconds: {}", defaultTimeout, locator);
             throw e;
+        } finally {
+            PRESENT_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -131,13 +178,17 @@ public class WaitUtils {
      */
     public static boolean waitForElementToBeInvisible(By locator) {
         logger.debug("Waiting for element to be invisible: {}", locator);
+        long startNanos = System.nanoTime();
         try {
             boolean invisible = getWait().until(ExpectedConditions.invisibilityOfElementLocated(locator));
             logger.debug("Element is now invisible: {}", locator);
             return invisible;
         } catch (Exception e) {
-            logger.error("Element still visible after {} seconds: {}", DEFAULT_TIMEOUT, locator);
+            FAILED_WAITS.increment();
+            logger.error("Element still visible after {} seconds: {}", defaultTimeout, locator);
             throw e;
+        } finally {
+            INVISIBLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -149,13 +200,17 @@ public class WaitUtils {
      */
     public static boolean waitForTextToBePresentInElement(By locator, String text) {
         logger.debug("Waiting for text '{}' to be present in element: {}", text, locator);
+        long startNanos = System.nanoTime();
         try {
             boolean textPresent = getWait().until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
             logger.debug("Text '{}' is now present in element: {}", text, locator);
             return textPresent;
         } catch (Exception e) {
-            logger.error("Text '{}' not present in element within {} seconds: {}", text, DEFAULT_TIMEOUT, locator);
+            FAILED_WAITS.increment();
+            logger.error("Text '{}' not present in element within {} seconds: {}", text, defaultTimeout, locator);
             throw e;
+        } finally {
+            TEXT_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -168,6 +223,7 @@ public class WaitUtils {
      */
     public static boolean waitForAttributeToContain(By locator, String attribute, String value) {
         logger.debug("Waiting for attribute '{}' to contain '{}' in element: {}", attribute, value, locator);
+        long startNanos = System.nanoTime();
         try {
             boolean attributeContains = getWait().until(
                 ExpectedConditions.attributeContains(locator, attribute, value)
@@ -175,9 +231,12 @@ public class WaitUtils {
             logger.debug("Attribute '{}' now contains '{}' in element: {}", attribute, value, locator);
             return attributeContains;
         } catch (Exception e) {
+            FAILED_WAITS.increment();
             logger.error("Attribute '{}' does not contain '{}' within {} seconds: {}", 
-                    attribute, value, DEFAULT_TIMEOUT, locator);
+                    attribute, value, defaultTimeout, locator);
             throw e;
+        } finally {
+            ATTRIBUTE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -188,13 +247,50 @@ public class WaitUtils {
      */
     public static boolean waitForUrlToContain(String urlFragment) {
         logger.debug("Waiting for URL to contain: {}", urlFragment);
+        long startNanos = System.nanoTime();
         try {
             boolean urlContains = getWait().until(ExpectedConditions.urlContains(urlFragment));
             logger.debug("URL now contains: {}", urlFragment);
             return urlContains;
         } catch (Exception e) {
-            logger.error("URL does not contain '{}' within {} seconds", urlFragment, DEFAULT_TIMEOUT);
+            FAILED_WAITS.increment();
+            logger.error("URL does not contain '{}' within {} seconds", urlFragment, defaultTimeout);
             throw e;
+        } finally {
+            URL_WAITS.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+    
+    /**
+     * Wait for the page to log a console message starting with a prefix
+     * Completes as soon as the browser pushes the message, without polling the page.
+     * @param console Console stream of the current session
+     * @param prefix Start of the message, e.g. "Result displayed:"
+     * @param mark Value of console.mark() taken before the action that logs the message
+     * @return Matching console entry
+     * @throws TimeoutException if no such message is logged within the default timeout, or the stream
+     *         closes first (its session ended or was found dead)
+     */
+    public static ConsoleEvents.Entry waitForConsoleMessage(ConsoleEvents console, String prefix, long mark) {
+        logger.debug("Waiting for console message: {}", prefix);
+        long startNanos = System.nanoTime();
+        try {
+            ConsoleEvents.Entry entry = console.await(prefix, mark, Duration.ofSeconds(defaultTimeout));
+            if (entry == null && console.isClosed()) {
+                FAILED_WAITS.increment();
+                logger.warn("Console stream closed before '{}' was logged", prefix);
+                throw new TimeoutException("Console stream closed before '" + prefix + "' was logged");
+            }
+            if (entry == null) {
+                FAILED_WAITS.increment();
+                logger.error("Console message '{}' not logged within {} seconds", prefix, defaultTimeout);
+                throw new TimeoutException("Console message '" + prefix + "' not logged within "
+                        + defaultTimeout + " seconds");
+            }
+            logger.debug("Console message logged: {}", entry.getText());
+            return entry;
+        } finally {
+            CONSOLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -205,13 +301,17 @@ public class WaitUtils {
      */
     public static boolean waitForTitleToContain(String title) {
         logger.debug("Waiting for page title to contain: {}", title);
+        long startNanos = System.nanoTime();
         try {
             boolean titleContains = getWait().until(ExpectedConditions.titleContains(title));
             logger.debug("Page title now contains: {}", title);
             return titleContains;
         } catch (Exception e) {
-            logger.error("Page title does not contain '{}' within {} seconds", title, DEFAULT_TIMEOUT);
+            FAILED_WAITS.increment();
+            logger.error("Page title does not contain '{}' within {} seconds", title, defaultTimeout);
             throw e;
+        } finally {
+            TITLE_WAITS.recordNanos(System.nanoTime() - startNanos);
         }
     }
     
@@ -2,8 +2,8 @@ package tests;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import utils.EventLog;
+import utils.Timings;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,9 +18,7 @@ import java.util.Map;
  */
 public class AgrichainE2ETest extends BaseTest {
     
-    // Test tracking variables
-    private long testStartTime;
-    private long phaseStartTime;
+    // Test tracking variables (durations come from utils.Timings spans)
     private int totalSteps = 0;
     private int completedSteps = 0;
     
@@ -40,7 +38,6 @@ public class AgrichainE2ETest extends BaseTest {
     @Test(priority = 1, description = "Complete E2E User Journey - Login to Logout")
     public void testCompleteUserJourney() {
         printHeader("COMPLETE E2E USER JOURNEY", "ATC_E2E_001");
-        testStartTime = System.currentTimeMillis();
         totalSteps = 7;
         
         try {
@@ -49,23 +46,23 @@ public class AgrichainE2ETest extends BaseTest {
             
             logStep(1, "Initialize Browser & Navigate to App");
             validateBrowserSetup();
+            checkVisual("index");
             completeStep(1, "Browser setup completed");
             
             // Phase 2: Login
             logPhase("PHASE 2", "User Authentication");
             
             logStep(2, "Perform User Login");
-            long loginStart = System.currentTimeMillis();
             boolean loginOk = performLogin();
-            long loginTime = System.currentTimeMillis() - loginStart;
             
             Assert.assertTrue(loginOk, "Login failed for user: " + testEmail);
             Assert.assertTrue(getCurrentUrl().contains("home"), "Login redirect failed");
             
-            completeStep(2, String.format("Login successful (%dms)", loginTime));
+            completeStep(2, "Login successful");
             
             logStep(3, "Verify Home Page Access");
             validateHomeAccess();
+            checkVisual("home");
             completeStep(3, "Home page verified");
             
             // Phase 3: String processing
@@ -73,24 +70,21 @@ public class AgrichainE2ETest extends BaseTest {
             
             logStep(4, "Enter Test String");
             String input = testString;
-            long inputStart = System.currentTimeMillis();
             
             homePage.enterStringInput(input);
             String enteredValue = homePage.getCurrentStringInput();
-            long inputTime = System.currentTimeMillis() - inputStart;
             
             Assert.assertEquals(enteredValue, input, "Input mismatch");
-            completeStep(4, String.format("String '%s' entered (%dms)", input, inputTime));
+            completeStep(4, String.format("String '%s' entered", input));
             
             logStep(5, "Submit String for Processing");
-            long submitStart = System.currentTimeMillis();
             boolean submitOk = homePage.submitStringAndWaitForResults(input);
-            long submitTime = System.currentTimeMillis() - submitStart;
             
             Assert.assertTrue(submitOk, "String submission failed: " + input);
             Assert.assertTrue(getCurrentUrl().contains("result"), "Result redirect failed");
+            checkVisual("result");
             
-            completeStep(5, String.format("Processing completed (%dms)", submitTime));
+            completeStep(5, "Processing completed");
             
             // Phase 4: Results
             logPhase("PHASE 4", "Results Verification");
@@ -103,15 +97,16 @@ public class AgrichainE2ETest extends BaseTest {
             logPhase("PHASE 5", "User Logout");
             
             logStep(7, "Perform Logout");
-            long logoutStart = System.currentTimeMillis();
             boolean logoutOk = performLogout();
-            long logoutTime = System.currentTimeMillis() - logoutStart;
             
             Assert.assertTrue(logoutOk, "Logout failed");
             Assert.assertTrue(getCurrentUrl().contains("index") || getCurrentUrl().contains("login"), 
                 "Logout redirect failed");
             
-            completeStep(7, String.format("Logout successful (%dms)", logoutTime));
+            completeStep(7, "Logout successful");
+            
+            // Screenshots were compared while the journey went on
+            assertVisualMatches();
             
             printSummary("COMPLETE E2E USER JOURNEY", true, input);
             
@@ -124,7 +119,7 @@ public class AgrichainE2ETest extends BaseTest {
             logger.error("Unexpected error: {}", e.getMessage());
             takeScreenshot("E2E_Error");
             printSummary("COMPLETE E2E USER JOURNEY", false, testString);
-            Assert.fail("Test failed: " + e.getMessage());
+            Assert.fail("Test failed: " + e.getMessage(), e);
         }
     }
     
@@ -135,7 +130,6 @@ public class AgrichainE2ETest extends BaseTest {
     @Test(priority = 2, description = "Algorithm Validation with Multiple Test Cases")
     public void testStringProcessingAlgorithm() {
         printHeader("STRING ALGORITHM VALIDATION", "ATC_ALG_001");
-        testStartTime = System.currentTimeMillis();
         totalSteps = testData.size() + 2; // +2 for login/logout
         
         try {
@@ -156,11 +150,9 @@ public class AgrichainE2ETest extends BaseTest {
                 
                 logStep(step, String.format("Test: '%s' (expected length: %d)", input, expected.length));
                 
-                long start = System.currentTimeMillis();
                 validateAlgorithm(input, expected);
-                long duration = System.currentTimeMillis() - start;
                 
-                completeStep(step, String.format("'%s' validated (%dms)", input, duration));
+                completeStep(step, String.format("'%s' validated", input));
                 step++;
             }
             
@@ -181,7 +173,7 @@ public class AgrichainE2ETest extends BaseTest {
         } catch (Exception e) {
             logger.error("Algorithm test error: {}", e.getMessage());
             takeScreenshot("Algorithm_Error");
-            Assert.fail("Algorithm test failed: " + e.getMessage());
+            Assert.fail("Algorithm test failed: " + e.getMessage(), e);
         }
     }
     
@@ -191,7 +183,6 @@ public class AgrichainE2ETest extends BaseTest {
     @Test(priority = 3, description = "Authentication Flow Testing")
     public void testAuthFlow() {
         printHeader("AUTHENTICATION FLOW", "ATC_AUTH_001");
-        testStartTime = System.currentTimeMillis();
         totalSteps = 4;
         
         try {
@@ -204,14 +195,12 @@ public class AgrichainE2ETest extends BaseTest {
             completeStep(1, "Login page accessible");
             
             logStep(2, "Perform Authentication");
-            long authStart = System.currentTimeMillis();
             boolean loginOk = performLogin();
-            long authTime = System.currentTimeMillis() - authStart;
             
             Assert.assertTrue(loginOk, "Auth failed for: " + testEmail);
             Assert.assertTrue(getCurrentUrl().contains("home"), "Auth redirect failed");
             
-            completeStep(2, String.format("Authentication OK (%dms)", authTime));
+            completeStep(2, "Authentication OK");
             
             // Validate session
             logPhase("PHASE 2", "Session Validation");
@@ -224,15 +213,13 @@ public class AgrichainE2ETest extends BaseTest {
             logPhase("PHASE 3", "Logout Testing");
             
             logStep(4, "Test Logout");
-            long logoutStart = System.currentTimeMillis();
             boolean logoutOk = performLogout();
-            long logoutTime = System.currentTimeMillis() - logoutStart;
             
             Assert.assertTrue(logoutOk, "Logout failed");
             Assert.assertTrue(getCurrentUrl().contains("index") || getCurrentUrl().contains("login"), 
                 "Logout redirect failed");
             
-            completeStep(4, String.format("Logout OK (%dms)", logoutTime));
+            completeStep(4, "Logout OK");
             
             printSummary("AUTHENTICATION FLOW", true, "N/A");
             
@@ -245,7 +232,7 @@ public class AgrichainE2ETest extends BaseTest {
             logger.error("Auth test error: {}", e.getMessage());
             takeScreenshot("Auth_Error");
             printSummary("AUTHENTICATION FLOW", false, "N/A");
-            Assert.fail("Auth test failed: " + e.getMessage());
+            Assert.fail("Auth test failed: " + e.getMessage(), e);
         }
     }
     
@@ -256,7 +243,6 @@ public class AgrichainE2ETest extends BaseTest {
     @Test(priority = 4, description = "UI Navigation Testing")
     public void testPageNavigationAndElements() {
         printHeader("UI NAVIGATION TESTING", "ATC_UI_001");
-        testStartTime = System.currentTimeMillis();
         totalSteps = 5;
         
         try {
@@ -315,42 +301,34 @@ public class AgrichainE2ETest extends BaseTest {
             logger.error("UI test error: {}", e.getMessage());
             takeScreenshot("UI_Error");
             printSummary("UI NAVIGATION TESTING", false, "N/A");
-            Assert.fail("UI test failed: " + e.getMessage());
+            Assert.fail("UI test failed: " + e.getMessage(), e);
         }
     }
     
     // Helper methods
     
+    // Test progress goes to the structured event log (utils.EventLog); the console gets one line per test
     private void printHeader(String testName, String testId) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        logger.info("================================================================");
-        logger.info("Starting Test: {}", testName);
-        logger.info("Test ID: {} | Start Time: {}", testId, timestamp);
-        logger.info("Browser: {} | Environment: {}", 
-            System.getProperty("browser", "chrome"), 
-            System.getProperty("environment", "local"));
-        logger.info("================================================================");
+        logger.info("Starting test {} ({})", testName, testId);
         completedSteps = 0;
+        Timings.startTest(testId);
+        EventLog.testStarted(testId, testName);
     }
     
     private void logPhase(String phase, String description) {
-        phaseStartTime = System.currentTimeMillis();
-        logger.info("");
-        logger.info("{} - {}", phase, description);
-        logger.info("----------------------------------------------------------------");
+        Timings.start(Timings.Kind.PHASE, phase + " - " + description);
+        EventLog.phase(phase, description);
     }
     
     private void logStep(int step, String description) {
-        logger.info("Step {}/{}: {}", step, totalSteps, description);
+        Timings.start(Timings.Kind.STEP, "Step " + step + ": " + description);
+        EventLog.step(step, totalSteps, description);
     }
     
     private void completeStep(int step, String message) {
         completedSteps++;
-        long duration = phaseStartTime > 0 ? System.currentTimeMillis() - phaseStartTime : 0;
-        logger.info("✓ Step {}/{} DONE: {} ({}ms)", step, totalSteps, message, duration);
-        
-        int progress = (completedSteps * 100) / totalSteps;
-        logger.info("Progress: {}% ({}/{})", progress, completedSteps, totalSteps);
+        Timings.Span stepSpan = Timings.end(Timings.Kind.STEP);
+        EventLog.stepDone(step, totalSteps, message, stepSpan != null ? stepSpan.getDurationNanos() : 0);
     }
     
     private void validateBrowserSetup() {
@@ -434,20 +412,9 @@ public class AgrichainE2ETest extends BaseTest {
     }
     
     private void printSummary(String testName, boolean passed, String inputData) {
-        long totalTime = System.currentTimeMillis() - testStartTime;
-        String status = passed ? "PASSED" : "FAILED";
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        
-        logger.info("");
-        logger.info("================================================================");
-        logger.info("Test Complete: {}", testName);
-        logger.info("Status: {} | End Time: {}", status, timestamp);
-        logger.info("Duration: {}ms | Steps: {}/{}", totalTime, completedSteps, totalSteps);
-        if (!inputData.equals("N/A")) {
-            logger.info("Test Data: '{}' | User: {}", inputData, testEmail);
-        }
-        logger.info("================================================================");
-        logger.info("");
+        logger.info("Test {} {} in {}ms ({}/{} steps)", testName, passed ? "PASSED" : "FAILED",
+            Timings.getTestElapsedMillis(), completedSteps, totalSteps);
+        EventLog.outcome(testName, passed, completedSteps, totalSteps, inputData.equals("N/A") ? null : inputData);
     }
     
     private void printAlgorithmSummary() {
@@ -0,0 +1,38 @@
+package tests;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import perf.HistoryBenchmark;
+import server.AppServer;
+import utils.Metrics;
+
+import java.util.List;
+
+/**
+ * HistoryBenchmarkTest - Submission cost against stored history size
+ * Run with mvn test -Phistory; users and sizes come from the history.* settings.
+ * Not part of the regular suite (src/test/resources/history.xml).
+ */
+public class HistoryBenchmarkTest {
+    private static final Logger logger = LogManager.getLogger(HistoryBenchmarkTest.class);
+    
+    @Test(description = "History benchmark - logCalculation and submit latency per preloaded history size")
+    public void testSubmitCostAgainstHistorySize() {
+        List<HistoryBenchmark.SizeResult> results = new HistoryBenchmark().run();
+        
+        results.stream().filter(result -> result.getError() != null).forEach(result ->
+                logger.warn("History of {} calculations not measured: {}", result.getCalculations(), result.getError()));
+        
+        Assert.assertTrue(results.stream().anyMatch(result -> result.getError() == null),
+                "No history size could be measured");
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        AppServer.stopAll();
+        Metrics.export();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package tests;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import perf.LoadGenerator;
+import server.AppServer;
+import utils.Metrics;
+
+/**
+ * LoadTest - Login and submit journey under a configured arrival rate
+ * Run with mvn test -Pload; users and profile come from the load.* settings.
+ * Not part of the regular suite (src/test/resources/load.xml).
+ */
+public class LoadTest {
+    private static final Logger logger = LogManager.getLogger(LoadTest.class);
+    
+    @Test(description = "Load - virtual users run login and submit at the profile's arrival rate")
+    public void testLoadJourney() {
+        LoadGenerator.LoadReport report = new LoadGenerator().run();
+        
+        logger.info("Load report: {} journeys, {} errors, {} dropped, {} /s", report.getJourneys(),
+                report.getErrors(), report.getDropped(), String.format("%.2f", report.getThroughput()));
+        
+        Assert.assertTrue(report.getJourneys() > 0, "No load journey ran");
+        Assert.assertTrue(report.getErrorRate() <= ConfigManager.getLoadMaxErrorRate(),
+                String.format("Error rate %.1f%% is above load.max.error.rate", report.getErrorRate() * 100));
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        AppServer.stopAll();
+        Metrics.export();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package tests;
+
+import config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+import perf.SoakRunner;
+import server.AppServer;
+import utils.Metrics;
+
+/**
+ * SoakTest - Endurance run of the login to logout journey
+ * Run with mvn test -Psoak; sessions and duration come from the soak.* settings.
+ * Not part of the regular suite (src/test/resources/soak.xml).
+ */
+public class SoakTest {
+    private static final Logger logger = LogManager.getLogger(SoakTest.class);
+    
+    @Test(description = "Soak - repeated login, submit, result and logout with leak detection")
+    public void testSoakJourney() {
+        SoakRunner.SoakReport report = new SoakRunner().run();
+        
+        logger.info("Soak report: {} journeys, {} errors, {} samples", report.getIterations(),
+                report.getErrors(), report.getSamples());
+        report.getLeaks().forEach(leak -> logger.warn("Growing metric: {}", leak));
+        
+        Assert.assertTrue(report.getIterations() > 0, "No soak journey completed");
+        if (ConfigManager.isSoakFailOnLeak()) {
+            Assert.assertTrue(report.getLeaks().isEmpty(), "Metrics grew monotonically: " + report.getLeaks());
+        }
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        AppServer.stopAll();
+        Metrics.export();
+    }
+}
\ No newline at end of file